@@ -0,0 +1,30 @@
+package com.atb.campaignservice.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Kafka Configuration for Campaign Service
+ *
+ * Topics:
+ * - campaign_events: latest state of every campaign keyed by campaign id (compacted;
+ *   a deleted campaign ends with a tombstone)
+ */
+@Configuration
+public class KafkaConfig {
+
+    public static final String CAMPAIGN_EVENTS_TOPIC = "campaign_events";
+    public static final String EVENT_TYPE_HEADER = "eventType";
+
+    @Bean
+    public NewTopic campaignEventsTopic() {
+        return TopicBuilder.name(CAMPAIGN_EVENTS_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT)
+                .build();
+    }
+}
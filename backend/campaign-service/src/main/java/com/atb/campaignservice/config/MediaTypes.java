@@ -0,0 +1,20 @@
+package com.atb.campaignservice.config;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types of the internal lookup API
+ */
+public final class MediaTypes {
+
+    /**
+     * Smile (binary JSON): same Jackson DTOs as JSON, but no text parsing and field names
+     * sent once as back-references, so payloads are smaller and cheaper to decode
+     */
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+    private MediaTypes() {
+    }
+}
@@ -0,0 +1,76 @@
+package com.atb.campaignservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Periodically measures replica replay lag. Reads fall back to the primary when the
+ * replica is unreachable, further behind than the configured maximum, or not a standby
+ * at all (a misconfigured URL pointing at an independent database would serve stale or
+ * missing data while reporting zero lag).
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // NULL when the server is not a standby, 0 when caught up, otherwise seconds since the last replayed transaction
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource replicaDataSource;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final double maxLagSeconds;
+    private volatile boolean replicaUsable = false;
+    private boolean notStandbyReported = false;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, double maxLagSeconds) {
+        this.replicaDataSource = replicaDataSource;
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbcTemplate.setQueryTimeout(2);
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public DataSource getReplicaDataSource() {
+        return replicaDataSource;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        boolean usable;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            if (lag == null) {
+                usable = false;
+                if (!notStandbyReported) {
+                    log.error("Configured replica is not a standby (pg_is_in_recovery() is false), " +
+                            "routing all reads to primary");
+                    notStandbyReported = true;
+                }
+            } else {
+                usable = lag <= maxLagSeconds;
+                notStandbyReported = false;
+                if (!usable && replicaUsable) {
+                    log.warn("Replica lag {}s exceeds {}s, routing reads to primary", lag, maxLagSeconds);
+                }
+            }
+        } catch (Exception e) {
+            usable = false;
+            if (replicaUsable) {
+                log.warn("Replica unreachable, routing reads to primary: {}", e.getMessage());
+            }
+        }
+
+        if (usable && !replicaUsable) {
+            log.info("Replica healthy, routing read-only transactions to replica");
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,36 @@
+package com.atb.campaignservice.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schema Initializer - Applies DDL that Hibernate's ddl-auto cannot express
+ *
+ * Runs after the EntityManagerFactory has created/updated the tables.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class SchemaInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initialize() {
+        log.info("Applying schema extensions");
+        createConfigIndex();
+    }
+
+    /**
+     * GIN index for containment (@>) queries on campaign config
+     */
+    private void createConfigIndex() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_campaigns_config ON campaigns " +
+                "USING GIN (config jsonb_path_ops)");
+    }
+}
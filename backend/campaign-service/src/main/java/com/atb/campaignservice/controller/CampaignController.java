@@ -3,37 +3,104 @@ package com.atb.campaignservice.controller;
 import com.atb.campaignservice.dto.CampaignRequest;
 import com.atb.campaignservice.dto.CampaignResponse;
 import com.atb.campaignservice.dto.ChannelTypeResponse;
+import com.atb.campaignservice.dto.QuotaResponse;
+import com.atb.campaignservice.enums.CampaignStatus;
+import com.atb.campaignservice.enums.Channel;
 import com.atb.campaignservice.service.CampaignService;
+import com.atb.campaignservice.service.QuotaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/campaigns")
 @RequiredArgsConstructor
 public class CampaignController {
 
+    public static final String NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
+
     private final CampaignService campaignService;
+    private final QuotaService quotaService;
 
     /**
-     * GET /api/campaigns - Get all campaigns
+     * GET /api/campaigns - Get campaigns, optionally filtered by status, channel and productId.
+     * Pass limit (and afterId from the X-Next-After-Id header) to page through the results.
      */
     @GetMapping
-    public ResponseEntity<List<CampaignResponse>> getAllCampaigns() {
-        List<CampaignResponse> campaigns = campaignService.getAllCampaigns();
-        return ResponseEntity.ok(campaigns);
+    public ResponseEntity<List<CampaignResponse>> getAllCampaigns(
+            @RequestParam(required = false) CampaignStatus status,
+            @RequestParam(required = false) Channel channel,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
+        List<CampaignResponse> campaigns = campaignService.getAllCampaigns(status, channel, productId, afterId, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (limit != null && campaigns.size() == limit) {
+            response.header(NEXT_AFTER_ID_HEADER, String.valueOf(campaigns.get(campaigns.size() - 1).getId()));
+        }
+        return response.body(campaigns);
+    }
+
+    /**
+     * GET /api/campaigns?hashtag=deals - Get campaigns whose config contains the hashtag
+     * (likewise keyword= for YouTube and board= for Pinterest)
+     */
+    @GetMapping(params = "hashtag")
+    public ResponseEntity<List<CampaignResponse>> getCampaignsByHashtag(@RequestParam String hashtag) {
+        return ResponseEntity.ok(campaignService.getCampaignsByConfigValue("hashtags", hashtag));
+    }
+
+    @GetMapping(params = "keyword")
+    public ResponseEntity<List<CampaignResponse>> getCampaignsByKeyword(@RequestParam String keyword) {
+        return ResponseEntity.ok(campaignService.getCampaignsByConfigValue("keywords", keyword));
+    }
+
+    @GetMapping(params = "board")
+    public ResponseEntity<List<CampaignResponse>> getCampaignsByBoard(@RequestParam String board) {
+        return ResponseEntity.ok(campaignService.getCampaignsByConfigValue("boards", board));
+    }
+
+    /**
+     * GET /api/campaigns?ids=1,2,3 - Get several campaigns in one request
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<CampaignResponse>> getCampaignsByIds(@RequestParam List<Long> ids) {
+        List<CampaignResponse> campaigns = campaignService.getCampaignsByIds(ids);
+        String versions = campaigns.stream()
+                .map(campaign -> campaign.getId() + ":" + campaign.getVersion())
+                .collect(Collectors.joining(","));
+        // Spring answers 304 itself when If-None-Match matches
+        return ResponseEntity.ok()
+                .eTag(sha256Hex(versions))
+                .body(campaigns);
     }
 
     /**
-     * GET /api/campaigns/{id} - Get campaign by ID
+     * GET /api/campaigns/{id} - Get campaign by ID (supports If-None-Match / If-Modified-Since)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CampaignResponse> getCampaignById(@PathVariable Long id) {
+    public ResponseEntity<CampaignResponse> getCampaignById(@PathVariable Long id, WebRequest webRequest) {
+        // Served from the second-level cache in the steady state
         CampaignResponse campaign = campaignService.getCampaignById(id);
+        LocalDateTime modified = campaign.getUpdatedAt() != null ? campaign.getUpdatedAt() : campaign.getCreatedAt();
+
+        // Sets ETag/Last-Modified on the response; true means 304 has already been prepared
+        if (webRequest.checkNotModified(etag(id, campaign.getVersion()), toEpochMilli(modified))) {
+            return null;
+        }
         return ResponseEntity.ok(campaign);
     }
 
@@ -84,6 +151,36 @@ public class CampaignController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * POST /api/campaigns/{id}/quota/reserve?units=1 - Reserve units of today's daily limit.
+     * 200 when granted, 429 when the limit would be exceeded.
+     */
+    @PostMapping("/{id}/quota/reserve")
+    public ResponseEntity<QuotaResponse> reserveQuota(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int units) {
+        QuotaResponse quota = quotaService.reserve(id, units);
+        return ResponseEntity.status(quota.isGranted() ? HttpStatus.OK : HttpStatus.TOO_MANY_REQUESTS).body(quota);
+    }
+
+    /**
+     * POST /api/campaigns/{id}/quota/release?units=1 - Return reserved units that were not used
+     */
+    @PostMapping("/{id}/quota/release")
+    public ResponseEntity<QuotaResponse> releaseQuota(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int units) {
+        return ResponseEntity.ok(quotaService.release(id, units));
+    }
+
+    /**
+     * GET /api/campaigns/{id}/quota - Today's usage of the daily limit
+     */
+    @GetMapping("/{id}/quota")
+    public ResponseEntity<QuotaResponse> getQuota(@PathVariable Long id) {
+        return ResponseEntity.ok(quotaService.getUsage(id));
+    }
+
     /**
      * GET /api/campaigns/channel-types - Get available channel types with config fields
      */
@@ -92,5 +189,21 @@ public class CampaignController {
         List<ChannelTypeResponse> channelTypes = campaignService.getChannelTypes();
         return ResponseEntity.ok(channelTypes);
     }
-}
 
+    private String etag(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    private String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
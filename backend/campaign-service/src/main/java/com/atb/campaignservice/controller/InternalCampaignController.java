@@ -0,0 +1,66 @@
+package com.atb.campaignservice.controller;
+
+import com.atb.campaignservice.config.MediaTypes;
+import com.atb.campaignservice.dto.CampaignResponse;
+import com.atb.campaignservice.dto.InternalCampaignResponse;
+import com.atb.campaignservice.enums.CampaignStatus;
+import com.atb.campaignservice.service.CampaignService;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Internal campaign lookups for social-engine (not used by the frontend); Smile by default,
+ * JSON on request
+ */
+@RestController
+@RequestMapping("/internal/campaigns")
+@RequiredArgsConstructor
+public class InternalCampaignController {
+
+    private static final int STREAM_PAGE_SIZE = 500;
+
+    private final CampaignService campaignService;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    /**
+     * POST /internal/campaigns/batch - Campaigns for a list of IDs (max 500); unknown IDs are skipped
+     */
+    @PostMapping(value = "/batch", produces = {MediaTypes.SMILE_VALUE, "application/json"})
+    public ResponseEntity<List<InternalCampaignResponse>> getCampaigns(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(campaignService.getCampaignsByIds(ids).stream()
+                .map(InternalCampaignResponse::from)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * GET /internal/campaigns/active - All ACTIVE campaigns as one Smile array, written page by page
+     * while it is read, so neither side holds the whole list before processing starts
+     */
+    @GetMapping(value = "/active", produces = MediaTypes.SMILE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamActiveCampaigns() {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = smileConverter.getObjectMapper().writer().writeValuesAsArray(out)) {
+                Long afterId = null;
+                List<CampaignResponse> page;
+                do {
+                    page = campaignService.getAllCampaigns(CampaignStatus.ACTIVE, null, null, afterId, STREAM_PAGE_SIZE);
+                    for (CampaignResponse campaign : page) {
+                        writer.write(InternalCampaignResponse.from(campaign));
+                    }
+                    writer.flush();
+                    if (!page.isEmpty()) {
+                        afterId = page.get(page.size() - 1).getId();
+                    }
+                } while (page.size() == STREAM_PAGE_SIZE);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaTypes.SMILE).body(body);
+    }
+}
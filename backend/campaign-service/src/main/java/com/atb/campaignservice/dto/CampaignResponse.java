@@ -2,6 +2,7 @@ package com.atb.campaignservice.dto;
 
 import com.atb.campaignservice.enums.CampaignStatus;
 import com.atb.campaignservice.enums.Channel;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,7 +10,6 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -25,7 +25,10 @@ public class CampaignResponse {
     private LocalDate endDate;
     private Integer dailyLimit;
     private CampaignStatus status;
-    private Map<String, Object> config;
+    @JsonRawValue
+    private String config;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
 }
 
@@ -0,0 +1,69 @@
+package com.atb.campaignservice.dto;
+
+import com.atb.campaignservice.exception.InvalidOperationException;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Typed, per-channel campaign configuration (stored as jsonb on the campaign)
+ */
+public sealed interface ChannelConfig
+        permits ChannelConfig.TwitterConfig, ChannelConfig.YoutubeConfig, ChannelConfig.PinterestConfig {
+
+    /**
+     * Check value ranges and return a normalized copy (defaults filled, list entries trimmed and de-duplicated)
+     */
+    ChannelConfig validated();
+
+    record TwitterConfig(Integer minFollowerCount, List<String> hashtags, Integer recentWindowMinutes)
+            implements ChannelConfig {
+        @Override
+        public TwitterConfig validated() {
+            return new TwitterConfig(
+                    nonNegative("minFollowerCount", minFollowerCount),
+                    clean(hashtags),
+                    inRange("recentWindowMinutes", recentWindowMinutes, 1, 1440, 15));
+        }
+    }
+
+    record YoutubeConfig(Integer minSubscribers, List<String> keywords) implements ChannelConfig {
+        @Override
+        public YoutubeConfig validated() {
+            return new YoutubeConfig(nonNegative("minSubscribers", minSubscribers), clean(keywords));
+        }
+    }
+
+    record PinterestConfig(Integer minFollowers, List<String> boards) implements ChannelConfig {
+        @Override
+        public PinterestConfig validated() {
+            return new PinterestConfig(nonNegative("minFollowers", minFollowers), clean(boards));
+        }
+    }
+
+    private static int nonNegative(String field, Integer value) {
+        return inRange(field, value, 0, Integer.MAX_VALUE, 0);
+    }
+
+    private static int inRange(String field, Integer value, int min, int max, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value < min || value > max) {
+            throw new InvalidOperationException(field + " must be between " + min + " and " + max);
+        }
+        return value;
+    }
+
+    private static List<String> clean(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
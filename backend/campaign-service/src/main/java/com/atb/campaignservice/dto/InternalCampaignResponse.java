@@ -0,0 +1,38 @@
+package com.atb.campaignservice.dto;
+
+import com.atb.campaignservice.enums.CampaignStatus;
+import com.atb.campaignservice.enums.Channel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Campaign fields other services need for lookups (no config: raw JSON cannot be written as Smile)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InternalCampaignResponse {
+
+    private Long id;
+    private Long productId;
+    private String name;
+    private Channel channel;
+    private CampaignStatus status;
+    private Integer dailyLimit;
+    private Long version;
+
+    public static InternalCampaignResponse from(CampaignResponse campaign) {
+        return InternalCampaignResponse.builder()
+                .id(campaign.getId())
+                .productId(campaign.getProductId())
+                .name(campaign.getName())
+                .channel(campaign.getChannel())
+                .status(campaign.getStatus())
+                .dailyLimit(campaign.getDailyLimit())
+                .version(campaign.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.atb.campaignservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuotaResponse {
+
+    private Long campaignId;
+    private LocalDate date;
+    private boolean granted;
+    private long used;
+    private long limit;
+    private long remaining;
+}
@@ -8,14 +8,21 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Type;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Map;
 
 @Entity
-@Table(name = "campaigns")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "campaigns", indexes = {
+        @Index(name = "idx_campaigns_status_id", columnList = "status, id"),
+        @Index(name = "idx_campaigns_product_id", columnList = "product_id"),
+        @Index(name = "idx_campaigns_channel_id", columnList = "channel, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -50,19 +57,33 @@ public class Campaign {
     @Builder.Default
     private CampaignStatus status = CampaignStatus.DRAFT;
 
+    // Canonical JSON of the channel's ChannelConfig; kept raw so loading a campaign never parses it
     @Type(JsonBinaryType.class)
     @Column(columnDefinition = "jsonb")
-    private Map<String, Object> config;
+    private String config;
 
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    private LocalDateTime updatedAt;
+
+    // Optimistic lock version, also used as the ETag of the campaign
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
         if (status == null) {
             status = CampaignStatus.DRAFT;
         }
     }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
 
@@ -0,0 +1,45 @@
+package com.atb.campaignservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Units of a campaign's daily limit used on a given day.
+ * Written by QuotaService's reconciler (upsert), not through JPA.
+ */
+@Entity
+@Table(name = "campaign_daily_usage")
+@IdClass(CampaignDailyUsage.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignDailyUsage {
+
+    @Id
+    private Long campaignId;
+
+    @Id
+    private LocalDate usageDate;
+
+    @Column(nullable = false)
+    private Long used;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long campaignId;
+        private LocalDate usageDate;
+    }
+}
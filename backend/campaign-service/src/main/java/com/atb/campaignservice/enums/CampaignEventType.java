@@ -0,0 +1,11 @@
+package com.atb.campaignservice.enums;
+
+public enum CampaignEventType {
+    CREATED,
+    UPDATED,
+    PAUSED,
+    RESUMED,
+    ACTIVATED,
+    COMPLETED,
+    DELETED
+}
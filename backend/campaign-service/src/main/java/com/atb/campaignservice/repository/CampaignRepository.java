@@ -1,10 +1,44 @@
 package com.atb.campaignservice.repository;
 
 import com.atb.campaignservice.entity.Campaign;
+import com.atb.campaignservice.enums.CampaignStatus;
+import com.atb.campaignservice.enums.Channel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CampaignRepository extends JpaRepository<Campaign, Long> {
-}
 
+    /**
+     * Filtered listing in id order; afterId is the keyset cursor (0 for the first page)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Campaign c " +
+           "WHERE (:status IS NULL OR c.status = :status) " +
+           "AND (:channel IS NULL OR c.channel = :channel) " +
+           "AND (:productId IS NULL OR c.productId = :productId) " +
+           "AND c.id > :afterId " +
+           "ORDER BY c.id")
+    List<Campaign> findFiltered(@Param("status") CampaignStatus status,
+                                @Param("channel") Channel channel,
+                                @Param("productId") Long productId,
+                                @Param("afterId") Long afterId,
+                                Pageable pageable);
+
+    List<Campaign> findByStatusIn(Collection<CampaignStatus> statuses);
+
+    /**
+     * jsonb containment on config (GIN jsonb_path_ops index, see SchemaInitializer)
+     */
+    @Query(value = "SELECT * FROM campaigns WHERE config @> CAST(:document AS jsonb) ORDER BY id", nativeQuery = true)
+    List<Campaign> findByConfigContaining(@Param("document") String document);
+}
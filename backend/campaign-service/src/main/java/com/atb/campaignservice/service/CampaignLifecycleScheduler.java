@@ -0,0 +1,153 @@
+package com.atb.campaignservice.service;
+
+import com.atb.campaignservice.entity.Campaign;
+import com.atb.campaignservice.enums.CampaignStatus;
+import com.atb.campaignservice.repository.CampaignRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CampaignLifecycleScheduler - Starts and completes campaigns on their dates
+ *
+ * - Start (DRAFT -> ACTIVE) fires at the beginning of startDate, completion
+ *   (-> COMPLETED) at the end of endDate, both in campaign.lifecycle.zone
+ * - Deadlines live in a TimerWheel: loaded once at startup, updated when a campaign is
+ *   created, updated or deleted; there is no periodic scan of the campaigns table
+ * - Changes made inside a transaction take effect after it commits, so a tick never
+ *   sees a due campaign whose row is not committed yet
+ * - Campaigns that fall due in the same tick are transitioned in one batched transaction
+ */
+@Service
+@Slf4j
+public class CampaignLifecycleScheduler {
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 64;
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignService campaignService;
+    private final ZoneId zone;
+
+    private final TimerWheel<Long> wheel = new TimerWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+    private final Map<Long, List<TimerWheel.Timeout<Long>>> timers = new ConcurrentHashMap<>();
+    private final Set<Long> due = ConcurrentHashMap.newKeySet();
+
+    public CampaignLifecycleScheduler(CampaignRepository campaignRepository,
+                                      @Lazy CampaignService campaignService,
+                                      @Value("${campaign.lifecycle.zone:UTC}") String zone) {
+        this.campaignRepository = campaignRepository;
+        this.campaignService = campaignService;
+        this.zone = ZoneId.of(zone);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSchedules() {
+        List<Campaign> campaigns = campaignRepository.findByStatusIn(
+                List.of(CampaignStatus.DRAFT, CampaignStatus.ACTIVE, CampaignStatus.PAUSED));
+        campaigns.forEach(this::schedule);
+        log.info("Scheduled lifecycle transitions for {} campaigns ({} already due)", campaigns.size(), due.size());
+    }
+
+    /**
+     * (Re)schedule a campaign's start and end transitions
+     */
+    public void schedule(Campaign campaign) {
+        Long id = campaign.getId();
+        CampaignStatus status = campaign.getStatus();
+        LocalDate startDate = campaign.getStartDate();
+        LocalDate endDate = campaign.getEndDate();
+        afterCommit(() -> doSchedule(id, status, startDate, endDate));
+    }
+
+    public void cancel(Long campaignId) {
+        afterCommit(() -> doCancel(campaignId));
+    }
+
+    @Scheduled(fixedDelay = TICK_MS)
+    public void tick() {
+        wheel.advance(System.currentTimeMillis(), due::add);
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Long> batch = new ArrayList<>(due);
+        due.removeAll(batch);
+        try {
+            int changed = campaignService.applyScheduledTransitions(batch);
+            log.info("Applied lifecycle transitions to {} of {} due campaigns", changed, batch.size());
+        } catch (Exception e) {
+            log.error("Failed to apply lifecycle transitions, retrying next tick: {}", e.getMessage());
+            due.addAll(batch);
+        }
+    }
+
+    /**
+     * Today in the lifecycle zone (used to decide whether a transition is due)
+     */
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    private void doSchedule(Long campaignId, CampaignStatus status, LocalDate startDate, LocalDate endDate) {
+        doCancel(campaignId);
+        if (status == CampaignStatus.COMPLETED) {
+            return;
+        }
+
+        List<TimerWheel.Timeout<Long>> scheduled = new ArrayList<>(2);
+        if (status == CampaignStatus.DRAFT) {
+            at(campaignId, startDate, scheduled);
+        }
+        if (endDate != null) {
+            at(campaignId, endDate.plusDays(1), scheduled);
+        }
+        if (!scheduled.isEmpty()) {
+            timers.put(campaignId, scheduled);
+        }
+    }
+
+    private void doCancel(Long campaignId) {
+        List<TimerWheel.Timeout<Long>> scheduled = timers.remove(campaignId);
+        if (scheduled != null) {
+            scheduled.forEach(TimerWheel.Timeout::cancel);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void at(Long campaignId, LocalDate date, List<TimerWheel.Timeout<Long>> scheduled) {
+        long deadline = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        TimerWheel.Timeout<Long> timeout = wheel.schedule(deadline, campaignId);
+        if (timeout == null) {
+            due.add(campaignId);
+        } else {
+            scheduled.add(timeout);
+        }
+    }
+}
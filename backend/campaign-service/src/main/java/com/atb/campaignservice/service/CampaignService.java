@@ -4,30 +4,53 @@ import com.atb.campaignservice.dto.CampaignRequest;
 import com.atb.campaignservice.dto.CampaignResponse;
 import com.atb.campaignservice.dto.ChannelTypeResponse;
 import com.atb.campaignservice.entity.Campaign;
+import com.atb.campaignservice.enums.CampaignEventType;
 import com.atb.campaignservice.enums.CampaignStatus;
+import com.atb.campaignservice.enums.Channel;
 import com.atb.campaignservice.exception.InvalidOperationException;
 import com.atb.campaignservice.exception.ResourceNotFoundException;
 import com.atb.campaignservice.repository.CampaignRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CampaignService {
 
+    private static final int MAX_BULK_IDS = 500;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final CampaignRepository campaignRepository;
+    private final OutboxService outboxService;
+    private final ChannelConfigMapper channelConfigMapper;
+    private final QuotaService quotaService;
+    private final CampaignLifecycleScheduler lifecycleScheduler;
 
     /**
-     * Get all campaigns
+     * Get campaigns matching the optional filters, ordered by id.
+     * With a limit, returns one keyset page of campaigns with id > afterId.
      */
-    public List<CampaignResponse> getAllCampaigns() {
-        return campaignRepository.findAll()
+    @Transactional(readOnly = true)
+    public List<CampaignResponse> getAllCampaigns(CampaignStatus status, Channel channel, Long productId,
+                                                  Long afterId, Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new InvalidOperationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Pageable page = limit != null ? PageRequest.of(0, limit) : Pageable.unpaged();
+
+        return campaignRepository.findFiltered(status, channel, productId, afterId != null ? afterId : 0L, page)
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -36,11 +59,39 @@ public class CampaignService {
     /**
      * Get campaign by ID
      */
+    @Transactional(readOnly = true)
     public CampaignResponse getCampaignById(Long id) {
         Campaign campaign = findCampaignById(id);
         return mapToResponse(campaign);
     }
 
+    /**
+     * Get campaigns whose config list field (hashtags, keywords, boards) contains the value.
+     * Uses jsonb containment, served by the GIN index on config.
+     */
+    @Transactional(readOnly = true)
+    public List<CampaignResponse> getCampaignsByConfigValue(String field, String value) {
+        return campaignRepository.findByConfigContaining(channelConfigMapper.containmentQuery(field, value))
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get several campaigns in one query; unknown IDs are skipped
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("null")
+    public List<CampaignResponse> getCampaignsByIds(List<Long> ids) {
+        if (ids.size() > MAX_BULK_IDS) {
+            throw new InvalidOperationException("At most " + MAX_BULK_IDS + " campaign IDs can be requested at once");
+        }
+        return campaignRepository.findAllById(ids)
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Create a new campaign with default status DRAFT
      */
@@ -60,11 +111,12 @@ public class CampaignService {
                 .endDate(request.getEndDate())
                 .dailyLimit(request.getDailyLimit())
                 .status(CampaignStatus.DRAFT)
-                .config(request.getConfig())
+                .config(channelConfigMapper.toJson(request.getChannel(), request.getConfig()))
                 .build();
 
         Campaign savedCampaign = campaignRepository.save(campaign);
-        return mapToResponse(savedCampaign);
+        lifecycleScheduler.schedule(savedCampaign);
+        return publish(CampaignEventType.CREATED, savedCampaign);
     }
 
     /**
@@ -90,10 +142,12 @@ public class CampaignService {
         campaign.setStartDate(request.getStartDate());
         campaign.setEndDate(request.getEndDate());
         campaign.setDailyLimit(request.getDailyLimit());
-        campaign.setConfig(request.getConfig());
+        campaign.setConfig(channelConfigMapper.toJson(request.getChannel(), request.getConfig()));
 
-        Campaign updatedCampaign = campaignRepository.save(campaign);
-        return mapToResponse(updatedCampaign);
+        Campaign updatedCampaign = campaignRepository.saveAndFlush(campaign);
+        quotaService.updateLimit(id, updatedCampaign.getDailyLimit());
+        lifecycleScheduler.schedule(updatedCampaign);
+        return publish(CampaignEventType.UPDATED, updatedCampaign);
     }
 
     /**
@@ -108,8 +162,8 @@ public class CampaignService {
         }
 
         campaign.setStatus(CampaignStatus.PAUSED);
-        Campaign updatedCampaign = campaignRepository.save(campaign);
-        return mapToResponse(updatedCampaign);
+        Campaign updatedCampaign = campaignRepository.saveAndFlush(campaign);
+        return publish(CampaignEventType.PAUSED, updatedCampaign);
     }
 
     /**
@@ -124,8 +178,8 @@ public class CampaignService {
         }
 
         campaign.setStatus(CampaignStatus.ACTIVE);
-        Campaign updatedCampaign = campaignRepository.save(campaign);
-        return mapToResponse(updatedCampaign);
+        Campaign updatedCampaign = campaignRepository.saveAndFlush(campaign);
+        return publish(CampaignEventType.RESUMED, updatedCampaign);
     }
 
     /**
@@ -136,6 +190,42 @@ public class CampaignService {
     public void deleteCampaign(Long id) {
         Campaign campaign = findCampaignById(id);
         campaignRepository.delete(campaign);
+        quotaService.remove(id);
+        lifecycleScheduler.cancel(id);
+        publish(CampaignEventType.DELETED, campaign);
+    }
+
+    /**
+     * Apply due date-driven transitions (called by CampaignLifecycleScheduler):
+     * campaigns past their endDate become COMPLETED, DRAFT campaigns whose startDate
+     * has come become ACTIVE. State is re-checked, so stale or duplicate triggers are no-ops.
+     *
+     * @return number of campaigns changed
+     */
+    @Transactional
+    @SuppressWarnings("null")
+    public int applyScheduledTransitions(Collection<Long> ids) {
+        LocalDate today = lifecycleScheduler.today();
+        Map<Campaign, CampaignEventType> changed = new IdentityHashMap<>();
+
+        for (Campaign campaign : campaignRepository.findAllById(ids)) {
+            if (campaign.getStatus() != CampaignStatus.COMPLETED
+                    && campaign.getEndDate() != null && campaign.getEndDate().isBefore(today)) {
+                campaign.setStatus(CampaignStatus.COMPLETED);
+                changed.put(campaign, CampaignEventType.COMPLETED);
+            } else if (campaign.getStatus() == CampaignStatus.DRAFT && !campaign.getStartDate().isAfter(today)) {
+                campaign.setStatus(CampaignStatus.ACTIVE);
+                changed.put(campaign, CampaignEventType.ACTIVATED);
+            }
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        // One batched UPDATE round-trip (hibernate.jdbc.batch_size), then events with the new versions
+        campaignRepository.saveAllAndFlush(changed.keySet());
+        changed.forEach((campaign, eventType) -> publish(eventType, campaign));
+        return changed.size();
     }
 
     /**
@@ -149,7 +239,7 @@ public class CampaignService {
                 .name("TWITTER")
                 .displayName("Twitter")
                 .description("Automate Twitter engagement and traffic")
-                .configFields(Arrays.asList("minFollowerCount", "hashtags"))
+                .configFields(Arrays.asList("minFollowerCount", "hashtags", "recentWindowMinutes"))
                 .build());
 
         // YouTube
@@ -180,6 +270,16 @@ public class CampaignService {
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + id));
     }
 
+    /**
+     * Record a change event in the outbox (same transaction) and return the response.
+     * Updates are flushed before this so the event carries the new version.
+     */
+    private CampaignResponse publish(CampaignEventType eventType, Campaign campaign) {
+        CampaignResponse response = mapToResponse(campaign);
+        outboxService.record(eventType, response);
+        return response;
+    }
+
     /**
      * Map Campaign entity to CampaignResponse DTO
      */
@@ -195,6 +295,8 @@ public class CampaignService {
                 .status(campaign.getStatus())
                 .config(campaign.getConfig())
                 .createdAt(campaign.getCreatedAt())
+                .updatedAt(campaign.getUpdatedAt())
+                .version(campaign.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,66 @@
+package com.atb.campaignservice.service;
+
+import com.atb.campaignservice.dto.ChannelConfig;
+import com.atb.campaignservice.enums.Channel;
+import com.atb.campaignservice.exception.InvalidOperationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Validates incoming channel config against the channel's typed record and
+ * produces the canonical JSON stored in campaigns.config
+ */
+@Component
+@RequiredArgsConstructor
+public class ChannelConfigMapper {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return canonical JSON for the config, or null when no config was sent
+     */
+    public String toJson(Channel channel, Map<String, Object> config) {
+        if (config == null) {
+            return null;
+        }
+
+        Class<? extends ChannelConfig> type = switch (channel) {
+            case TWITTER -> ChannelConfig.TwitterConfig.class;
+            case YOUTUBE -> ChannelConfig.YoutubeConfig.class;
+            case PINTEREST -> ChannelConfig.PinterestConfig.class;
+        };
+
+        ChannelConfig typed;
+        try {
+            typed = objectMapper.readerFor(type)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(objectMapper.valueToTree(config));
+        } catch (JsonProcessingException e) {
+            throw new InvalidOperationException("Invalid " + channel + " config: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Invalid " + channel + " config: " + e.getMessage());
+        }
+
+        try {
+            return objectMapper.writeValueAsString(typed.validated());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + channel + " config", e);
+        }
+    }
+
+    /**
+     * JSON document for a jsonb containment (@>) query on a list field, e.g. {"hashtags": ["deals"]}
+     */
+    public String containmentQuery(String field, String value) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(field, new String[]{value.trim()}));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.atb.campaignservice.service;
+
+import com.atb.campaignservice.config.KafkaConfig;
+import com.atb.campaignservice.entity.OutboxEvent;
+import com.atb.campaignservice.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox events to the campaign_events topic
+ *
+ * - Batches are locked with FOR UPDATE SKIP LOCKED, so several instances can relay at once
+ * - Rows are marked published only after Kafka acknowledged every send of the batch;
+ *   on failure the transaction rolls back and the batch is retried (at-least-once)
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int retentionHours;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.retention-hours:24}") int retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retentionHours = retentionHours;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } while (published != null && published == batchSize);
+        } catch (Exception e) {
+            log.warn("Outbox relay failed, retrying next interval: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 0 * * * *}")
+    public void cleanup() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} published outbox events", deleted);
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockUnpublished(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            ProducerRecord<String, String> record = new ProducerRecord<>(
+                    KafkaConfig.CAMPAIGN_EVENTS_TOPIC, String.valueOf(event.getAggregateId()), event.getPayload());
+            record.headers().add(KafkaConfig.EVENT_TYPE_HEADER,
+                    event.getEventType().name().getBytes(StandardCharsets.UTF_8));
+            sends.add(kafkaTemplate.send(record));
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Kafka did not acknowledge outbox batch", e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> event.setPublishedAt(now));
+        log.debug("Published {} campaign events", events.size());
+        return events.size();
+    }
+}
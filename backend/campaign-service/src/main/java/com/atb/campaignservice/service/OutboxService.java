@@ -0,0 +1,41 @@
+package com.atb.campaignservice.service;
+
+import com.atb.campaignservice.dto.CampaignResponse;
+import com.atb.campaignservice.entity.OutboxEvent;
+import com.atb.campaignservice.enums.CampaignEventType;
+import com.atb.campaignservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records campaign change events in the outbox table.
+ * Must run inside the transaction that makes the change, so the event commits (or rolls back) with it.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(CampaignEventType eventType, CampaignResponse campaign) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateId(campaign.getId())
+                .eventType(eventType)
+                .payload(eventType == CampaignEventType.DELETED ? null : toJson(campaign))
+                .build());
+    }
+
+    private String toJson(CampaignResponse campaign) {
+        try {
+            return objectMapper.writeValueAsString(campaign);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize campaign " + campaign.getId(), e);
+        }
+    }
+}
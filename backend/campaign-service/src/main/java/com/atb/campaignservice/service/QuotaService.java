@@ -0,0 +1,254 @@
+package com.atb.campaignservice.service;
+
+import com.atb.campaignservice.dto.QuotaResponse;
+import com.atb.campaignservice.entity.Campaign;
+import com.atb.campaignservice.exception.InvalidOperationException;
+import com.atb.campaignservice.exception.ResourceNotFoundException;
+import com.atb.campaignservice.repository.CampaignRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * QuotaService - Enforces Campaign.dailyLimit
+ *
+ * - Reservations are a compare-and-set on an in-memory counter per (campaign, day);
+ *   no database round-trip on the hot path
+ * - Counters start from campaign_daily_usage and are reconciled into it periodically.
+ *   The upsert returns the day's total across all instances, which is folded back into
+ *   the local counter, so instances can only overshoot by what they grant between two
+ *   reconciliations.
+ * - Counters with nothing to flush are refreshed with one batched SELECT per interval
+ * - A new day starts a new counter; the previous day's counters are flushed and dropped
+ */
+@Service
+@Slf4j
+public class QuotaService {
+
+    private static final String UPSERT =
+            "INSERT INTO campaign_daily_usage (campaign_id, usage_date, used, updated_at) VALUES (?, ?, ?, now()) " +
+            "ON CONFLICT (campaign_id, usage_date) DO UPDATE " +
+            "SET used = campaign_daily_usage.used + EXCLUDED.used, updated_at = now() " +
+            "RETURNING used";
+
+    // Keys per batched usage SELECT for idle counters
+    private static final int IDLE_BATCH_SIZE = 500;
+
+    private final CampaignRepository campaignRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ZoneId zone;
+
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    private record Key(Long campaignId, LocalDate date) {}
+
+    private static final class Counter {
+        final AtomicLong used;
+        // Part of `used` already written to campaign_daily_usage by this instance
+        final AtomicLong persisted;
+        volatile long limit;
+
+        Counter(long used, long limit) {
+            this.used = new AtomicLong(used);
+            this.persisted = new AtomicLong(used);
+            this.limit = limit;
+        }
+    }
+
+    public QuotaService(CampaignRepository campaignRepository,
+                        JdbcTemplate jdbcTemplate,
+                        @Value("${quota.zone:UTC}") String zone) {
+        this.campaignRepository = campaignRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.zone = ZoneId.of(zone);
+    }
+
+    /**
+     * Atomically reserve units against today's limit; all or nothing
+     */
+    public QuotaResponse reserve(Long campaignId, int units) {
+        if (units < 1) {
+            throw new InvalidOperationException("Units must be positive");
+        }
+        LocalDate today = LocalDate.now(zone);
+        Counter counter = counter(campaignId, today);
+
+        while (true) {
+            long used = counter.used.get();
+            long limit = counter.limit;
+            if (used + units > limit) {
+                return response(campaignId, today, false, used, limit);
+            }
+            if (counter.used.compareAndSet(used, used + units)) {
+                return response(campaignId, today, true, used + units, limit);
+            }
+        }
+    }
+
+    /**
+     * Give back units reserved today that were not used (e.g. the reply could not be produced)
+     */
+    public QuotaResponse release(Long campaignId, int units) {
+        if (units < 1) {
+            throw new InvalidOperationException("Units must be positive");
+        }
+        LocalDate today = LocalDate.now(zone);
+        Counter counter = counter(campaignId, today);
+
+        while (true) {
+            long used = counter.used.get();
+            long released = Math.min(used, units);
+            if (counter.used.compareAndSet(used, used - released)) {
+                return response(campaignId, today, true, used - released, counter.limit);
+            }
+        }
+    }
+
+    /**
+     * Today's usage without reserving anything
+     */
+    public QuotaResponse getUsage(Long campaignId) {
+        LocalDate today = LocalDate.now(zone);
+        Counter counter = counter(campaignId, today);
+        return response(campaignId, today, true, counter.used.get(), counter.limit);
+    }
+
+    /**
+     * Apply a changed daily limit to live counters
+     */
+    public void updateLimit(Long campaignId, int dailyLimit) {
+        counters.forEach((key, counter) -> {
+            if (key.campaignId().equals(campaignId)) {
+                counter.limit = dailyLimit;
+            }
+        });
+    }
+
+    public void remove(Long campaignId) {
+        counters.keySet().removeIf(key -> key.campaignId().equals(campaignId));
+    }
+
+    /**
+     * Write unflushed reservations to campaign_daily_usage and pick up other instances' usage
+     */
+    @Scheduled(fixedDelayString = "${quota.reconcile-interval-ms:1000}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now(zone);
+        Map<Key, Counter> idle = new HashMap<>();
+
+        counters.forEach((key, counter) -> {
+            long persisted = counter.persisted.get();
+            long delta = counter.used.get() - persisted;
+            if (delta == 0) {
+                idle.put(key, counter);
+                return;
+            }
+            try {
+                Long total = jdbcTemplate.queryForObject(UPSERT, Long.class, key.campaignId(), key.date(), delta);
+                if (total != null) {
+                    apply(counter, persisted, delta, total);
+                }
+                if (key.date().isBefore(today)) {
+                    counters.remove(key, counter);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to reconcile quota for campaign {} on {}: {}",
+                        key.campaignId(), key.date(), e.getMessage());
+            }
+        });
+
+        if (!idle.isEmpty()) {
+            refreshIdle(idle, today);
+        }
+    }
+
+    /**
+     * Pick up other instances' usage for counters with nothing to flush, in one query
+     */
+    private void refreshIdle(Map<Key, Counter> idle, LocalDate today) {
+        try {
+            List<Key> all = new ArrayList<>(idle.keySet());
+            Map<Key, Long> totals = new HashMap<>();
+            for (int from = 0; from < all.size(); from += IDLE_BATCH_SIZE) {
+                List<Key> keys = all.subList(from, Math.min(all.size(), from + IDLE_BATCH_SIZE));
+                Object[] params = new Object[keys.size() * 2];
+                for (int i = 0; i < keys.size(); i++) {
+                    params[2 * i] = keys.get(i).campaignId();
+                    params[2 * i + 1] = keys.get(i).date();
+                }
+                jdbcTemplate.query(
+                        "SELECT campaign_id, usage_date, used FROM campaign_daily_usage " +
+                        "WHERE (campaign_id, usage_date) IN (" +
+                        String.join(", ", Collections.nCopies(keys.size(), "(?, ?)")) + ")",
+                        rs -> {
+                            totals.put(new Key(rs.getLong(1), rs.getObject(2, LocalDate.class)), rs.getLong(3));
+                        },
+                        params);
+            }
+
+            idle.forEach((key, counter) -> {
+                long persisted = counter.persisted.get();
+                apply(counter, persisted, 0, totals.getOrDefault(key, 0L));
+                if (key.date().isBefore(today)) {
+                    counters.remove(key, counter);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to refresh {} idle quota counters: {}", idle.size(), e.getMessage());
+        }
+    }
+
+    private void apply(Counter counter, long persisted, long delta, long total) {
+        // total includes our delta; fold in whatever other instances added
+        long external = total - persisted - delta;
+        counter.persisted.set(total);
+        if (external != 0) {
+            counter.used.addAndGet(external);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconcile();
+    }
+
+    @SuppressWarnings("null")
+    private Counter counter(Long campaignId, LocalDate date) {
+        return counters.computeIfAbsent(new Key(campaignId, date), key -> {
+            Campaign campaign = campaignRepository.findById(campaignId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + campaignId));
+            return new Counter(readUsage(campaignId, date), campaign.getDailyLimit());
+        });
+    }
+
+    private long readUsage(Long campaignId, LocalDate date) {
+        Long used = jdbcTemplate.query(
+                "SELECT used FROM campaign_daily_usage WHERE campaign_id = ? AND usage_date = ?",
+                rs -> rs.next() ? rs.getLong(1) : 0L, campaignId, date);
+        return used != null ? used : 0L;
+    }
+
+    private QuotaResponse response(Long campaignId, LocalDate date, boolean granted, long used, long limit) {
+        return QuotaResponse.builder()
+                .campaignId(campaignId)
+                .date(date)
+                .granted(granted)
+                .used(used)
+                .limit(limit)
+                .remaining(Math.max(0, limit - used))
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.atb.campaignservice.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel
+ *
+ * Level 0 has wheelSize buckets of tickMs each; every further level has wheelSize buckets
+ * spanning a whole rotation of the level below, and levels are added on demand. Scheduling
+ * and cancelling are O(1). When time crosses a bucket boundary of a higher level, that
+ * bucket is cascaded into the lower levels, so a timer is touched at most once per level.
+ * Timers never fire early; they fire at most one tick late.
+ */
+public class TimerWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<ArrayDeque<Timeout<T>>[]> levels = new ArrayList<>();
+
+    // Every deadline before currentTime has been expired; always a multiple of tickMs
+    private long currentTime;
+
+    public static final class Timeout<T> {
+        private final long deadline;
+        private final T value;
+        private volatile boolean cancelled;
+
+        private Timeout(long deadline, T value) {
+            this.deadline = deadline;
+            this.value = value;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    public TimerWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+    }
+
+    /**
+     * @return the timer, or null when the deadline has already passed (the caller should act right away)
+     */
+    public synchronized Timeout<T> schedule(long deadlineMs, T value) {
+        Timeout<T> timeout = new Timeout<>(deadlineMs, value);
+        return place(timeout) ? timeout : null;
+    }
+
+    /**
+     * Move time forward and hand every expired, non-cancelled value to the consumer
+     */
+    public synchronized void advance(long nowMs, Consumer<T> expired) {
+        while (currentTime + tickMs <= nowMs) {
+            drain(0, currentTime, timeout -> expired.accept(timeout.value));
+            currentTime += tickMs;
+
+            // Cascade, highest level first, every level whose bucket boundary was just crossed
+            for (int level = levels.size() - 1; level > 0; level--) {
+                long levelTick = levelTick(level);
+                if (currentTime % levelTick == 0) {
+                    drain(level, currentTime, timeout -> {
+                        if (!place(timeout)) {
+                            expired.accept(timeout.value);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private boolean place(Timeout<T> timeout) {
+        if (timeout.deadline < currentTime) {
+            return false;
+        }
+        for (int level = 0; ; level++) {
+            long levelTick = levelTick(level);
+            long levelStart = currentTime - currentTime % levelTick;
+            if (timeout.deadline < levelStart + levelTick * wheelSize) {
+                bucket(level, timeout.deadline).add(timeout);
+                return true;
+            }
+        }
+    }
+
+    private void drain(int level, long time, Consumer<Timeout<T>> action) {
+        if (level >= levels.size()) {
+            return;
+        }
+        ArrayDeque<Timeout<T>> bucket = bucket(level, time);
+        List<Timeout<T>> timeouts = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Timeout<T> timeout : timeouts) {
+            if (!timeout.cancelled) {
+                action.accept(timeout);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArrayDeque<Timeout<T>> bucket(int level, long time) {
+        while (levels.size() <= level) {
+            ArrayDeque<Timeout<T>>[] buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level)[(int) ((time / levelTick(level)) % wheelSize)];
+    }
+
+    private long levelTick(int level) {
+        long tick = tickMs;
+        for (int i = 0; i < level; i++) {
+            tick *= wheelSize;
+        }
+        return tick;
+    }
+}
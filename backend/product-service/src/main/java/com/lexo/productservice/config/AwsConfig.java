@@ -3,9 +3,14 @@ package com.lexo.productservice.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
 
 @Configuration
 public class AwsConfig {
@@ -13,13 +18,46 @@ public class AwsConfig {
     @Value("${aws.region}")
     private String awsRegion;
 
+    // Optional S3-compatible endpoint (e.g. a local MinIO/LocalStack); blank means AWS
+    @Value("${aws.s3.endpoint:}")
+    private String s3Endpoint;
+
     @Bean
-    public S3Client s3Client() {
-        return S3Client.builder()
+    public AwsCredentialsProvider awsCredentialsProvider() {
+        return DefaultCredentialsProvider.create();
+    }
+
+    @Bean
+    public S3Client s3Client(AwsCredentialsProvider credentialsProvider) {
+        var builder = S3Client.builder()
                 .region(Region.of(awsRegion))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+                .credentialsProvider(credentialsProvider)
+                .serviceConfiguration(s3Configuration());
+        if (!s3Endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(s3Endpoint));
+        }
+        return builder.build();
     }
-}
 
+    /**
+     * Shared presigner; thread-safe, closed with the context
+     */
+    @Bean
+    public S3Presigner s3Presigner(AwsCredentialsProvider credentialsProvider) {
+        var builder = S3Presigner.builder()
+                .region(Region.of(awsRegion))
+                .credentialsProvider(credentialsProvider)
+                .serviceConfiguration(s3Configuration());
+        if (!s3Endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(s3Endpoint));
+        }
+        return builder.build();
+    }
 
+    private S3Configuration s3Configuration() {
+        // Local stand-ins usually don't resolve bucket subdomains
+        return S3Configuration.builder()
+                .pathStyleAccessEnabled(!s3Endpoint.isBlank())
+                .build();
+    }
+}
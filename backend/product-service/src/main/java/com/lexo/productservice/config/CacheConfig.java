@@ -0,0 +1,29 @@
+package com.lexo.productservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lexo.productservice.dto.ProductResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Product DTOs by id. Writes through this instance update it directly; the TTL bounds
+     * staleness from writes made by other instances.
+     */
+    @Bean
+    public Cache<Long, ProductResponse> productCache(
+            @Value("${product.cache.maximum-size:10000}") long maximumSize,
+            @Value("${product.cache.expire-after-write-minutes:10}") long expireAfterWriteMinutes) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.lexo.productservice.config;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types of the internal lookup API
+ */
+public final class MediaTypes {
+
+    // Smile (binary JSON), the default representation under /internal/products
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+    private MediaTypes() {
+    }
+}
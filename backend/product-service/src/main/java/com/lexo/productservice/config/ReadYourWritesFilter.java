@@ -0,0 +1,66 @@
+package com.lexo.productservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Read-your-writes support for replica routing
+ *
+ * - Mutating requests (and everything they read) always use the primary
+ * - A mutating request sets a short-lived cookie so the client's follow-up reads
+ *   (e.g. re-fetching a list after a status change) also go to the primary
+ * - Service-to-service callers can send X-Read-Your-Writes: true instead
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+    public static final String COOKIE = "atb-ryw";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final int windowSeconds;
+
+    public ReadYourWritesFilter(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+
+        PINNED.set(write || "true".equalsIgnoreCase(request.getHeader(HEADER)) || hasCookie(request));
+        try {
+            if (write) {
+                Cookie cookie = new Cookie(COOKIE, "1");
+                cookie.setPath("/");
+                cookie.setMaxAge(windowSeconds);
+                cookie.setHttpOnly(true);
+                response.addCookie(cookie);
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    private boolean hasCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        return cookies != null && Arrays.stream(cookies).anyMatch(c -> COOKIE.equals(c.getName()));
+    }
+}
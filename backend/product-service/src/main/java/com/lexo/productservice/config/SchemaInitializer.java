@@ -0,0 +1,75 @@
+package com.lexo.productservice.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schema Initializer - Applies DDL that Hibernate's ddl-auto cannot express
+ *
+ * Runs after the EntityManagerFactory has created/updated the tables.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class SchemaInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initialize() {
+        log.info("Applying schema extensions");
+        createSearchIndex();
+        createImportIndexes();
+        backfillUpdatedAt();
+    }
+
+    /**
+     * Trigram index over title, tags and bullets (products.search_text) for fuzzy search
+     */
+    private void createSearchIndex() {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+
+        // Rows written before search_text existed
+        int backfilled = jdbcTemplate.update(
+                "UPDATE products p SET search_text = lower(concat_ws(' ', p.title, " +
+                "(SELECT string_agg(t.tag, ' ') FROM product_tags t WHERE t.product_id = p.id), " +
+                "(SELECT string_agg(b.bullet, ' ') FROM product_bullets b WHERE b.product_id = p.id))) " +
+                "WHERE p.search_text IS NULL");
+        if (backfilled > 0) {
+            log.info("Backfilled search_text for {} products", backfilled);
+        }
+
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_products_search_text_trgm ON products " +
+                "USING GIN (search_text gin_trgm_ops)");
+    }
+
+    /**
+     * The changes feed is keyed on updated_at; rows written before it was always set
+     */
+    private void backfillUpdatedAt() {
+        int backfilled = jdbcTemplate.update("UPDATE products SET updated_at = created_at WHERE updated_at IS NULL");
+        if (backfilled > 0) {
+            log.info("Backfilled updated_at for {} products", backfilled);
+        }
+    }
+
+    /**
+     * Natural key for bulk import upserts, and product_id indexes for replacing collections
+     */
+    private void createImportIndexes() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_product_tags_product_id ON product_tags (product_id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_product_bullets_product_id ON product_bullets (product_id)");
+        try {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_products_product_url ON products (product_url) " +
+                    "WHERE product_url IS NOT NULL");
+        } catch (Exception e) {
+            log.error("Could not create unique index on products.product_url (duplicate URLs?); " +
+                    "bulk import will fail until they are resolved: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.lexo.productservice.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lexo.productservice.dto.ProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final Cache<Long, ProductResponse> productCache;
+
+    /**
+     * GET /api/cache/stats - Product cache size and hit/miss statistics
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        CacheStats cacheStats = productCache.stats();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", productCache.estimatedSize());
+        stats.put("hits", cacheStats.hitCount());
+        stats.put("misses", cacheStats.missCount());
+        stats.put("hitRate", cacheStats.hitRate());
+        stats.put("evictions", cacheStats.evictionCount());
+        stats.put("loads", cacheStats.loadCount());
+        stats.put("averageLoadPenaltyMs", cacheStats.averageLoadPenalty() / 1_000_000.0);
+
+        return ResponseEntity.ok(stats);
+    }
+}
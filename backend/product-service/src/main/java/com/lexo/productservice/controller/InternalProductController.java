@@ -0,0 +1,77 @@
+package com.lexo.productservice.controller;
+
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.lexo.productservice.config.MediaTypes;
+import com.lexo.productservice.dto.ProductResponse;
+import com.lexo.productservice.service.ProductService;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Product lookups for other services, answered from the product cache
+ */
+@RestController
+@RequestMapping("/internal/products")
+@RequiredArgsConstructor
+@Validated
+public class InternalProductController {
+
+    private static final int STREAM_CHUNK_SIZE = 100;
+
+    private final ProductService productService;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @GetMapping(value = "/{id}", produces = {MediaTypes.SMILE_VALUE, "application/json"})
+    public ResponseEntity<ProductResponse> getProduct(@PathVariable Long id) {
+        return productService.getProductById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /internal/products/batch - Products for a list of IDs (max 500), in request order;
+     * unknown IDs are skipped
+     */
+    @PostMapping(value = "/batch", produces = {MediaTypes.SMILE_VALUE, "application/json"})
+    public ResponseEntity<List<ProductResponse>> getProducts(@RequestBody @NotEmpty @Size(max = 500) List<Long> ids) {
+        Map<Long, ProductResponse> products = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * POST /internal/products/stream - Like /batch without the size limit: products are looked up
+     * in chunks and written to one Smile array as they are found
+     */
+    @PostMapping(value = "/stream", produces = MediaTypes.SMILE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts(@RequestBody List<Long> ids) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = smileConverter.getObjectMapper().writer().writeValuesAsArray(out)) {
+                for (int from = 0; from < ids.size(); from += STREAM_CHUNK_SIZE) {
+                    List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + STREAM_CHUNK_SIZE));
+                    Map<Long, ProductResponse> products = productService.getProductsByIds(chunk);
+                    for (Long id : chunk) {
+                        ProductResponse product = products.get(id);
+                        if (product != null) {
+                            writer.write(product);
+                        }
+                    }
+                    writer.flush();
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaTypes.SMILE).body(body);
+    }
+}
@@ -1,16 +1,34 @@
 package com.lexo.productservice.controller;
 
+import com.lexo.productservice.dto.ProductChangesResponse;
+import com.lexo.productservice.dto.ProductImportResult;
+import com.lexo.productservice.dto.ProductResponse;
+import com.lexo.productservice.dto.ProductSummary;
+import com.lexo.productservice.dto.UploadUrlRequest;
+import com.lexo.productservice.dto.UploadUrlResponse;
 import com.lexo.productservice.entity.Product;
+import com.lexo.productservice.service.ProductImportService;
 import com.lexo.productservice.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -23,17 +41,76 @@ import java.util.Objects;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
+    // Clients may keep a copy but must revalidate it; a matching ETag costs a 304 with no body
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * GET /api/products - All products (supports If-None-Match).
+     * The ETag comes from an aggregate query, so a 304 does not load the catalogue.
+     */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<List<Product>> getAllProducts(WebRequest webRequest) {
+        String etag = weakEtag("products-" + productService.getCatalogueFingerprint());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(productService.getAllProducts());
+    }
+
+    /**
+     * Paginated, slim listing (no description, bullets or tags)
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<Page<ProductSummary>> getProductSummaries(
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(productService.getProductSummaries(page, size));
+    }
+
+    /**
+     * GET /api/products/changes?since=token - Products changed or deleted since the token
+     * (everything on the first call). Follow nextToken; hasMore means the next page is ready now.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChangesResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") @Min(1) @Max(1000) int limit) {
+        try {
+            return ResponseEntity.ok(productService.getChangesSince(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * POST /api/products/import - Bulk upsert from a streamed NDJSON (application/x-ndjson)
+     * or CSV (text/csv) body. Products with a known productUrl are updated; results are per row.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ProductImportResult> importProducts(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        ProductImportResult result = "csv".equals(contentType.getSubtype())
+                ? productImportService.importCsv(request.getInputStream())
+                : productImportService.importNdjson(request.getInputStream());
+        return ResponseEntity.ok(result);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable @NotNull Long id) {
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable @NotNull Long id) {
         Objects.requireNonNull(id, "Product ID must not be null");
+        // Spring answers 304 itself when If-None-Match / If-Modified-Since match
         return productService.getProductById(id)
-                .map(ResponseEntity::ok)
+                .map(product -> ResponseEntity.ok()
+                        .eTag(weakEtag(product.getId() + "-" + product.getVersion()))
+                        .lastModified(toEpochMilli(product.getUpdatedAt() != null
+                                ? product.getUpdatedAt() : product.getCreatedAt()))
+                        .cacheControl(REVALIDATE)
+                        .body(product))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -70,10 +147,12 @@ public class ProductController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(
-            @RequestParam @NotNull @Size(min = 2) String keyword) {
+    public ResponseEntity<Page<Product>> searchProducts(
+            @RequestParam @NotNull @Size(min = 2) String keyword,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
         Objects.requireNonNull(keyword, "Search keyword must not be null");
-        return ResponseEntity.ok(productService.searchProducts(keyword));
+        return ResponseEntity.ok(productService.searchProducts(keyword, page, size));
     }
 
     @PostMapping("/upload-url")
@@ -86,6 +165,25 @@ public class ProductController {
         
         return ResponseEntity.ok(Map.of("presignedUrl", presignedUrl));
     }
-}
 
+    /**
+     * Presigned upload URLs for several files in one request, in request order
+     */
+    @PostMapping("/upload-urls")
+    public ResponseEntity<List<UploadUrlResponse>> generateUploadUrls(
+            @RequestBody @NotEmpty @Size(max = 50) List<@Valid UploadUrlRequest> requests) {
+        return ResponseEntity.ok(productService.generateImageUploadUrls(requests));
+    }
+
+    /**
+     * Weak because the tag identifies the version, not the bytes: gzip changes the bytes, and
+     * Tomcat does not compress responses carrying a strong ETag
+     */
+    private String weakEtag(String value) {
+        return "W/\"" + value + "\"";
+    }
 
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,23 @@
+package com.lexo.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the changes feed: the current product, or a tombstone (deleted = true, product = null)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChange {
+
+    private Long id;
+    private boolean deleted;
+    private LocalDateTime changedAt;
+    private ProductResponse product;
+}
@@ -0,0 +1,23 @@
+package com.lexo.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChangesResponse {
+
+    private List<ProductChange> changes;
+
+    // Pass as `since` on the next call; returned even when there are no changes
+    private String nextToken;
+
+    // More changes are available right away
+    private boolean hasMore;
+}
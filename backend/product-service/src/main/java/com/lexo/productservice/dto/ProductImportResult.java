@@ -0,0 +1,45 @@
+package com.lexo.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportResult {
+
+    public enum Status { CREATED, UPDATED, FAILED }
+
+    private int created;
+    private int updated;
+    private int failed;
+
+    @Builder.Default
+    private List<RowResult> rows = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        // 1-based line (NDJSON) or record (CSV) number
+        private long row;
+        private Status status;
+        private Long productId;
+        private String error;
+    }
+
+    public void add(RowResult result) {
+        rows.add(result);
+        switch (result.getStatus()) {
+            case CREATED -> created++;
+            case UPDATED -> updated++;
+            case FAILED -> failed++;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.lexo.productservice.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One product of a bulk import (an NDJSON line or a CSV record).
+ * Rows with a productUrl update the product with that URL if it exists.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportRow {
+
+    @NotBlank
+    @Size(max = 255)
+    private String title;
+
+    @Size(max = 2000)
+    private String description;
+
+    @NotNull
+    @DecimalMin("0.00")
+    private BigDecimal price;
+
+    @Size(max = 255)
+    private String imageUrl;
+
+    @Size(max = 255)
+    private String productUrl;
+
+    private List<@Size(max = 500) String> tags;
+
+    private List<@Size(max = 2000) String> bullets;
+}
@@ -0,0 +1,34 @@
+package com.lexo.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fully loaded product (same JSON as the entity); cached by ProductService, so treat as immutable
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private List<String> bullets;
+    private String imageUrl;
+    private String productUrl;
+    private BigDecimal price;
+    private List<String> tags;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Map<String, String> imageVariants;
+    private Long version;
+}
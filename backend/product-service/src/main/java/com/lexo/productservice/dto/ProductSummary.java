@@ -0,0 +1,26 @@
+package com.lexo.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Slim product row for listings (no description, bullets or tags)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSummary {
+
+    private Long id;
+    private String title;
+    private BigDecimal price;
+    private String imageUrl;
+    private String productUrl;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.lexo.productservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadUrlRequest {
+
+    @NotBlank
+    private String fileName;
+
+    private String contentType;
+}
@@ -1,17 +1,27 @@
 package com.lexo.productservice.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // Keyset order of the changes feed
+        @Index(name = "idx_products_updated_at_id", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,6 +39,7 @@ public class Product {
     private String description;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "product_bullets", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "bullet", length = 2000)
     private List<String> bullets;
@@ -43,25 +54,60 @@ public class Product {
     private BigDecimal price;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "product_tags", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "tag", length = 500)
     private List<String> tags;
 
+    // Resized copies of imageUrl by variant name (e.g. w320-jpeg), filled by ImageDerivativeService
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(name = "product_image_variants", joinColumns = @JoinColumn(name = "product_id"))
+    @MapKeyColumn(name = "variant", length = 50)
+    @Column(name = "url", length = 1000)
+    @Builder.Default
+    private Map<String, String> imageVariants = new HashMap<>();
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock version (also bumped by tag/bullet/variant changes), used as the ETag
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // Lower-cased title, tags and bullets; trigram-indexed for search (see SchemaInitializer)
+    @JsonIgnore
+    @Column(name = "search_text", columnDefinition = "text")
+    private String searchText;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        refreshSearchText();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        refreshSearchText();
+    }
+
+    /**
+     * Recompute searchText; call after changing tags or bullets, which alone do not trigger @PreUpdate
+     */
+    public void refreshSearchText() {
+        StringJoiner text = new StringJoiner(" ");
+        if (title != null) text.add(title);
+        if (tags != null) tags.forEach(text::add);
+        if (bullets != null) bullets.forEach(text::add);
+        searchText = text.toString().toLowerCase(Locale.ROOT);
     }
 }
 
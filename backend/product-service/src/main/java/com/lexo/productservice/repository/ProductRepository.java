@@ -1,19 +1,69 @@
 package com.lexo.productservice.repository;
 
+import com.lexo.productservice.dto.ProductSummary;
 import com.lexo.productservice.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    @Query("SELECT p FROM Product p WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-           "OR EXISTS (SELECT t FROM p.tags t WHERE LOWER(t) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    List<Product> findByTitleOrTagsContaining(@Param("keyword") String keyword);
+    /**
+     * Detail fetch plan: tags are joined in; bullets follow in one batch query
+     * (two bags cannot be join-fetched together)
+     */
+    @EntityGraph(attributePaths = "tags")
+    Optional<Product> findDetailById(Long id);
+
+    /**
+     * Changes whenever a product is created, updated or deleted; one aggregate over the
+     * primary key index instead of loading the catalogue
+     */
+    @Query(value = "SELECT count(*) || '-' || coalesce(sum(id), 0) || '-' || coalesce(sum(version), 0) FROM products",
+           nativeQuery = true)
+    String catalogueFingerprint();
+
+    /**
+     * Keyset page of products changed after (updatedAt, id), up to `until`
+     */
+    @Query(value = "SELECT * FROM products WHERE (updated_at, id) > (:time, :id) " +
+                   "AND updated_at <= :until ORDER BY updated_at, id LIMIT :limit",
+           nativeQuery = true)
+    List<Product> findChangedAfter(@Param("time") LocalDateTime time,
+                                   @Param("id") long id,
+                                   @Param("until") LocalDateTime until,
+                                   @Param("limit") int limit);
+
+    @Query(value = "SELECT new com.lexo.productservice.dto.ProductSummary(" +
+                   "p.id, p.title, p.price, p.imageUrl, p.productUrl, p.updatedAt) FROM Product p ORDER BY p.id",
+           countQuery = "SELECT count(p) FROM Product p")
+    Page<ProductSummary> findSummaries(Pageable pageable);
+
+    /**
+     * Ranked fuzzy search over title, tags and bullets.
+     * Candidates come from the trigram GIN index (substring match or word similarity);
+     * they are ranked by similarity, with matches in the title weighted higher.
+     *
+     * @param keyword lower-cased keyword
+     * @param pattern ILIKE pattern for the keyword with wildcards escaped
+     */
+    @Query(value = "SELECT p.* FROM products p " +
+                   "WHERE p.search_text ILIKE :pattern OR :keyword <% p.search_text " +
+                   "ORDER BY word_similarity(:keyword, p.search_text) " +
+                   "+ word_similarity(:keyword, lower(p.title)) DESC, p.id",
+           countQuery = "SELECT count(*) FROM products p " +
+                        "WHERE p.search_text ILIKE :pattern OR :keyword <% p.search_text",
+           nativeQuery = true)
+    Page<Product> search(@Param("keyword") String keyword, @Param("pattern") String pattern, Pageable pageable);
 
     List<Product> findByTagsContaining(String tag);
 }
@@ -0,0 +1,25 @@
+package com.lexo.productservice.repository;
+
+import com.lexo.productservice.entity.ProductTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+
+    /**
+     * Keyset page of deletions after (deletedAt, productId), up to `until`
+     */
+    @Query(value = "SELECT * FROM product_tombstones WHERE (deleted_at, product_id) > (:time, :id) " +
+                   "AND deleted_at <= :until ORDER BY deleted_at, product_id LIMIT :limit",
+           nativeQuery = true)
+    List<ProductTombstone> findDeletedAfter(@Param("time") LocalDateTime time,
+                                            @Param("id") long id,
+                                            @Param("until") LocalDateTime until,
+                                            @Param("limit") int limit);
+}
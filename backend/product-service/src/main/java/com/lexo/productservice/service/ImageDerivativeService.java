@@ -0,0 +1,226 @@
+package com.lexo.productservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.lexo.productservice.dto.ProductResponse;
+import com.lexo.productservice.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ImageDerivativeService - Generates resized variants of product images
+ *
+ * - When a product's imageUrl changes, a job is queued after the transaction commits
+ * - A fixed pool of workers drains a bounded queue; when it is full the job is dropped
+ *   and logged (the product keeps serving the original image)
+ * - Each variant is written next to the original (products/abc_photo.png ->
+ *   products/abc_photo_w320.jpg) and recorded in Product.imageVariants
+ * - Only images in our bucket are processed; external URLs are left as they are
+ */
+@Service
+@Slf4j
+public class ImageDerivativeService {
+
+    private static final Map<String, String> EXTENSIONS = Map.of("jpeg", "jpg", "webp", "webp", "avif", "avif");
+
+    private final S3Service s3Service;
+    private final ProductRepository productRepository;
+    private final Cache<Long, ProductResponse> productCache;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Integer> widths;
+    private final List<String> formats;
+    private final float quality;
+    private final ThreadPoolExecutor executor;
+
+    public ImageDerivativeService(S3Service s3Service,
+                                  ProductRepository productRepository,
+                                  Cache<Long, ProductResponse> productCache,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${product.images.variant-widths:320,800}") List<Integer> widths,
+                                  @Value("${product.images.formats:jpeg,webp}") List<String> formats,
+                                  @Value("${product.images.quality:0.8}") float quality,
+                                  @Value("${product.images.workers:2}") int workers,
+                                  @Value("${product.images.queue-capacity:100}") int queueCapacity) {
+        this.s3Service = s3Service;
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.widths = widths;
+        this.formats = availableFormats(formats);
+        this.quality = quality;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> log.warn("Image derivative queue is full, skipping a job"));
+    }
+
+    /**
+     * Queue variant generation; deferred until commit when called inside a transaction
+     */
+    public void submit(Long productId, String imageUrl) {
+        if (s3Service.keyOf(imageUrl) == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(productId, imageUrl);
+                }
+            });
+        } else {
+            enqueue(productId, imageUrl);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Image derivative jobs still running at shutdown: {}", executor.getActiveCount());
+            executor.shutdownNow();
+        }
+    }
+
+    private void enqueue(Long productId, String imageUrl) {
+        executor.execute(() -> process(productId, imageUrl));
+    }
+
+    private void process(Long productId, String imageUrl) {
+        String key = s3Service.keyOf(imageUrl);
+        try {
+            BufferedImage original = ImageIO.read(new ByteArrayInputStream(s3Service.getObject(key)));
+            if (original == null) {
+                log.warn("Unsupported image format for product {}: {}", productId, imageUrl);
+                return;
+            }
+
+            String baseKey = key.contains(".") ? key.substring(0, key.lastIndexOf('.')) : key;
+            Map<String, String> variants = new LinkedHashMap<>();
+            for (int width : outputWidths(original.getWidth())) {
+                BufferedImage resized = resize(original, width);
+                for (String format : formats) {
+                    String variantKey = baseKey + "_w" + width + "." + EXTENSIONS.getOrDefault(format, format);
+                    s3Service.putImmutableObject(variantKey, encode(resized, format), "image/" + format);
+                    variants.put("w" + width + "-" + format, s3Service.getObjectUrl(variantKey));
+                }
+            }
+
+            record(productId, imageUrl, variants);
+            log.debug("Generated {} image variants for product {}", variants.size(), productId);
+        } catch (Exception e) {
+            log.error("Failed to generate image variants for product {}: {}", productId, e.getMessage());
+        }
+    }
+
+    /**
+     * Configured widths narrower than the original, plus a single re-encode at the original width
+     * in place of all the wider ones (never upscale); variants are named by these actual widths
+     */
+    private Set<Integer> outputWidths(int originalWidth) {
+        Set<Integer> outputWidths = new LinkedHashSet<>();
+        for (int width : widths) {
+            outputWidths.add(Math.min(width, originalWidth));
+        }
+        return outputWidths;
+    }
+
+    @SuppressWarnings("null")
+    private void record(Long productId, String imageUrl, Map<String, String> variants) {
+        transactionTemplate.executeWithoutResult(status ->
+                productRepository.findById(productId).ifPresent(product -> {
+                    // The image may have been replaced while we were working; its own job records it
+                    if (imageUrl.equals(product.getImageUrl())) {
+                        product.getImageVariants().clear();
+                        product.getImageVariants().putAll(variants);
+                    }
+                }));
+        productCache.invalidate(productId);
+    }
+
+    private BufferedImage resize(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        // RGB on white: JPEG has no alpha channel
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByMIMEType("image/" + format).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed() && param.getCompressionTypes() != null) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionType(param.getCompressionTypes()[0]);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The JDK only encodes JPEG/PNG; WebP or AVIF need an ImageIO plugin on the classpath
+     */
+    private List<String> availableFormats(List<String> requested) {
+        List<String> available = new ArrayList<>();
+        for (String format : requested) {
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType("image/" + format);
+            if (writers.hasNext()) {
+                available.add(format);
+            } else {
+                log.warn("No ImageIO writer for image/{}, skipping that variant format", format);
+            }
+        }
+        return available;
+    }
+}
@@ -0,0 +1,348 @@
+package com.lexo.productservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.lexo.productservice.dto.ProductImportResult;
+import com.lexo.productservice.dto.ProductImportResult.RowResult;
+import com.lexo.productservice.dto.ProductImportResult.Status;
+import com.lexo.productservice.dto.ProductImportRow;
+import com.lexo.productservice.dto.ProductResponse;
+import com.lexo.productservice.entity.Product;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ProductImportService - Bulk product upserts from NDJSON or CSV streams
+ *
+ * - The body is read and validated row by row; only one batch of rows is held in memory
+ * - Each batch is one transaction: a JDBC batch of INSERT ... ON CONFLICT (product_url)
+ *   upserts, then the batch's tags and bullets are replaced with batched inserts
+ * - If a batch fails, its rows are retried one by one so a bad row only fails itself
+ * - New or changed images are queued for variant generation after the batch commits
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    private static final String UPSERT =
+            "INSERT INTO products (title, description, price, image_url, product_url, search_text, " +
+            "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0) " +
+            "ON CONFLICT (product_url) WHERE product_url IS NOT NULL DO UPDATE SET " +
+            "title = EXCLUDED.title, description = EXCLUDED.description, price = EXCLUDED.price, " +
+            "image_url = EXCLUDED.image_url, search_text = EXCLUDED.search_text, " +
+            "updated_at = EXCLUDED.updated_at, version = products.version + 1 " +
+            "RETURNING id, (xmax = 0) AS inserted";
+
+    // CSV list columns (tags, bullets) hold several values separated by this character
+    private static final String CSV_LIST_SEPARATOR = "\\|";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ImageDerivativeService imageDerivativeService;
+    private final Cache<Long, ProductResponse> productCache;
+    private final int batchSize;
+
+    private record Pending(long row, ProductImportRow product) {}
+
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                ImageDerivativeService imageDerivativeService,
+                                Cache<Long, ProductResponse> productCache,
+                                @Value("${product.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.imageDerivativeService = imageDerivativeService;
+        this.productCache = productCache;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * One JSON product per line; blank lines are skipped
+     */
+    public ProductImportResult importNdjson(InputStream body) throws IOException {
+        ProductImportResult result = new ProductImportResult();
+        List<Pending> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long row = 0;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    accept(row, objectMapper.readValue(line, ProductImportRow.class), batch, result);
+                } catch (JsonProcessingException e) {
+                    result.add(failed(row, "Invalid JSON: " + e.getOriginalMessage()));
+                }
+            }
+        }
+        flush(batch, result);
+        return result;
+    }
+
+    /**
+     * CSV with a header row: title,description,price,imageUrl,productUrl,tags,bullets
+     * (tags and bullets separated by '|')
+     */
+    public ProductImportResult importCsv(InputStream body) throws IOException {
+        ProductImportResult result = new ProductImportResult();
+        List<Pending> batch = new ArrayList<>(batchSize);
+
+        try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+             MappingIterator<Map<String, String>> records = new CsvMapper()
+                     .readerForMapOf(String.class)
+                     .with(CsvSchema.emptySchema().withHeader())
+                     .readValues(reader)) {
+            long row = 0;
+            while (true) {
+                Map<String, String> record;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    record = records.nextValue();
+                } catch (IOException | RuntimeException e) {
+                    // Malformed CSV: the rest of the stream cannot be trusted
+                    result.add(failed(row + 1, "Invalid CSV, import stopped: " + e.getMessage()));
+                    break;
+                }
+                row++;
+                try {
+                    accept(row, fromCsv(record), batch, result);
+                } catch (NumberFormatException e) {
+                    result.add(failed(row, "price: not a number"));
+                }
+            }
+        }
+        flush(batch, result);
+        return result;
+    }
+
+    private ProductImportRow fromCsv(Map<String, String> record) {
+        String price = blankToNull(record.get("price"));
+        return ProductImportRow.builder()
+                .title(record.get("title"))
+                .description(blankToNull(record.get("description")))
+                .price(price != null ? new BigDecimal(price.trim()) : null)
+                .imageUrl(record.get("imageUrl"))
+                .productUrl(record.get("productUrl"))
+                .tags(splitList(record.get("tags")))
+                .bullets(splitList(record.get("bullets")))
+                .build();
+    }
+
+    private List<String> splitList(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(CSV_LIST_SEPARATOR))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private void accept(long row, ProductImportRow product, List<Pending> batch, ProductImportResult result) {
+        product.setImageUrl(blankToNull(product.getImageUrl()));
+        product.setProductUrl(blankToNull(product.getProductUrl()));
+
+        Set<ConstraintViolation<ProductImportRow>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            result.add(failed(row, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "))));
+            return;
+        }
+
+        batch.add(new Pending(row, product));
+        if (batch.size() >= batchSize) {
+            flush(batch, result);
+        }
+    }
+
+    private void flush(List<Pending> batch, ProductImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<RowResult> results = transactionTemplate.execute(status -> upsert(batch));
+            results.forEach(result::add);
+            productCache.invalidateAll(results.stream().map(RowResult::getProductId).toList());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                result.add(failed(batch.get(0).row(), NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            } else {
+                log.warn("Import batch of {} rows failed, retrying row by row: {}", batch.size(), e.getMessage());
+                for (Pending pending : batch) {
+                    flush(new ArrayList<>(List.of(pending)), result);
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private List<RowResult> upsert(List<Pending> batch) {
+        Map<String, String> previousImages = currentImages(batch);
+        List<RowResult> results = new ArrayList<>(batch.size());
+        // Last row wins when the same productUrl appears twice in a batch
+        Map<Long, ProductImportRow> byId = new LinkedHashMap<>();
+        List<Long> staleVariants = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT, Statement.RETURN_GENERATED_KEYS)) {
+                for (Pending pending : batch) {
+                    ProductImportRow product = pending.product();
+                    statement.setString(1, product.getTitle());
+                    statement.setString(2, product.getDescription());
+                    statement.setBigDecimal(3, product.getPrice());
+                    statement.setString(4, product.getImageUrl());
+                    statement.setString(5, product.getProductUrl());
+                    statement.setString(6, searchText(product));
+                    statement.setTimestamp(7, now);
+                    statement.setTimestamp(8, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Pending pending : batch) {
+                        keys.next();
+                        long id = keys.getLong("id");
+                        boolean inserted = keys.getBoolean("inserted");
+                        ProductImportRow product = pending.product();
+                        byId.put(id, product);
+                        results.add(new RowResult(pending.row(), inserted ? Status.CREATED : Status.UPDATED, id, null));
+
+                        boolean imageChanged = inserted
+                                || !Objects.equals(previousImages.get(product.getProductUrl()), product.getImageUrl());
+                        if (imageChanged && !inserted) {
+                            staleVariants.add(id);
+                        }
+                        if (imageChanged && product.getImageUrl() != null) {
+                            imageDerivativeService.submit(id, product.getImageUrl());
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+
+        deleteByProductIds("product_image_variants", staleVariants);
+        replaceCollection("product_tags", "tag", byId, ProductImportRow::getTags);
+        replaceCollection("product_bullets", "bullet", byId, ProductImportRow::getBullets);
+        return results;
+    }
+
+    /**
+     * image_url of the existing products the batch will update, by product_url
+     */
+    private Map<String, String> currentImages(List<Pending> batch) {
+        Object[] productUrls = batch.stream()
+                .map(pending -> pending.product().getProductUrl())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray();
+        Map<String, String> images = new HashMap<>();
+        if (productUrls.length > 0) {
+            jdbcTemplate.query("SELECT product_url, image_url FROM products WHERE product_url = ANY(?)",
+                    statement -> statement.setArray(1, statement.getConnection().createArrayOf("text", productUrls)),
+                    resultSet -> {
+                        images.put(resultSet.getString(1), resultSet.getString(2));
+                    });
+        }
+        return images;
+    }
+
+    private void replaceCollection(String table, String column, Map<Long, ProductImportRow> byId,
+                                   Function<ProductImportRow, List<String>> values) {
+        deleteByProductIds(table, byId.keySet());
+
+        List<Object[]> rows = new ArrayList<>();
+        byId.forEach((id, product) -> {
+            List<String> items = values.apply(product);
+            if (items != null) {
+                items.forEach(item -> rows.add(new Object[]{id, item}));
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (product_id, " + column + ") VALUES (?, ?)",
+                    rows, new int[]{Types.BIGINT, Types.VARCHAR});
+        }
+    }
+
+    private void deleteByProductIds(String table, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Object[] idArray = ids.toArray();
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE product_id = ANY(?)",
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", idArray)));
+    }
+
+    /**
+     * Same text the entity maintains for search (see Product.refreshSearchText)
+     */
+    private String searchText(ProductImportRow row) {
+        Product product = Product.builder()
+                .title(row.getTitle())
+                .tags(row.getTags())
+                .bullets(row.getBullets())
+                .build();
+        product.refreshSearchText();
+        return product.getSearchText();
+    }
+
+    private RowResult failed(long row, String error) {
+        return new RowResult(row, Status.FAILED, null, error);
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -1,33 +1,127 @@
 package com.lexo.productservice.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.lexo.productservice.dto.ProductChange;
+import com.lexo.productservice.dto.ProductChangesResponse;
+import com.lexo.productservice.dto.ProductResponse;
+import com.lexo.productservice.dto.ProductSummary;
+import com.lexo.productservice.dto.UploadUrlRequest;
+import com.lexo.productservice.dto.UploadUrlResponse;
 import com.lexo.productservice.entity.Product;
+import com.lexo.productservice.entity.ProductTombstone;
 import com.lexo.productservice.repository.ProductRepository;
+import com.lexo.productservice.repository.ProductTombstoneRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 @Transactional
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final S3Service s3Service;
+    private final ImageDerivativeService imageDerivativeService;
+    private final Cache<Long, ProductResponse> productCache;
+    private final PlatformTransactionManager transactionManager;
+    private final ProductTombstoneRepository tombstoneRepository;
 
+    // Changes younger than this are held back from the feed (see getChangesSince)
+    @Value("${product.changes.settle-seconds:10}")
+    private long changesSettleSeconds;
+
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
-    public Optional<Product> getProductById(@NonNull Long id) {
-        return productRepository.findById(id);
+    @Transactional(readOnly = true)
+    public String getCatalogueFingerprint() {
+        return productRepository.catalogueFingerprint();
+    }
+
+    /**
+     * Served from the product cache; only a miss opens a transaction (see loadFromPrimary)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<ProductResponse> getProductById(@NonNull Long id) {
+        return Optional.ofNullable(productCache.get(id, this::loadProduct));
+    }
+
+    /**
+     * Several products at once; cached ones come from memory, the rest in one query.
+     * Unknown IDs are left out.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @SuppressWarnings("null")
+    public Map<Long, ProductResponse> getProductsByIds(@NonNull Collection<Long> ids) {
+        return productCache.getAll(ids, missing -> loadFromPrimary(() -> productRepository.findAllById(List.copyOf(missing))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, this::toResponse))));
+    }
+
+    /**
+     * Fill the product cache with the most recently updated products
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void warmCache() {
+        int limit = (int) Math.min(Integer.MAX_VALUE, productCache.policy().eviction()
+                .map(eviction -> eviction.getMaximum())
+                .orElse((long) Integer.MAX_VALUE));
+        try {
+            int warmed = loadFromPrimary(() -> {
+                Page<Product> products = productRepository.findAll(
+                        PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "updatedAt")));
+                products.forEach(product -> cache(toResponse(product)));
+                return products.getNumberOfElements();
+            });
+            log.info("Warmed product cache with {} products", warmed);
+        } catch (Exception e) {
+            log.warn("Failed to warm product cache: {}", e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> getProductSummaries(int page, int size) {
+        return productRepository.findSummaries(PageRequest.of(page, size));
     }
 
     public Product createProduct(@NonNull Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        if (saved.getImageUrl() != null) {
+            imageDerivativeService.submit(saved.getId(), saved.getImageUrl());
+        }
+        cacheAfterCommit(toResponse(saved));
+        return saved;
     }
 
     @SuppressWarnings("null")
@@ -38,12 +132,20 @@ public class ProductService {
         if (updated.getTitle() != null) existing.setTitle(updated.getTitle());
         if (updated.getDescription() != null) existing.setDescription(updated.getDescription());
         if (updated.getPrice() != null) existing.setPrice(updated.getPrice());
-        if (updated.getImageUrl() != null) existing.setImageUrl(updated.getImageUrl());
+        if (updated.getImageUrl() != null && !updated.getImageUrl().equals(existing.getImageUrl())) {
+            existing.setImageUrl(updated.getImageUrl());
+            existing.getImageVariants().clear();
+            imageDerivativeService.submit(id, updated.getImageUrl());
+        }
         if (updated.getProductUrl() != null) existing.setProductUrl(updated.getProductUrl());
         if (updated.getTags() != null) existing.setTags(updated.getTags());
         if (updated.getBullets() != null) existing.setBullets(updated.getBullets());
-    
-        return productRepository.save(existing);
+        existing.refreshSearchText();
+
+        // Flush so the cached copy carries the new version
+        Product saved = productRepository.saveAndFlush(existing);
+        cacheAfterCommit(toResponse(saved));
+        return saved;
     }
 
     public void deleteProduct(@NonNull Long id) {
@@ -51,15 +153,145 @@ public class ProductService {
             throw new RuntimeException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        tombstoneRepository.save(new ProductTombstone(id, LocalDateTime.now()));
+        productCache.invalidate(id);
+        afterCommit(() -> productCache.invalidate(id));
+    }
+
+    /**
+     * Products changed and deleted after the continuation token (from the start without one),
+     * oldest first by (updatedAt, id).
+     * Changes younger than the settle window are held back: updatedAt is assigned before commit,
+     * so a slow transaction (or replica lag) could otherwise land behind a token already handed out.
+     */
+    @Transactional(readOnly = true)
+    public ProductChangesResponse getChangesSince(String token, int limit) {
+        ChangeCursor cursor = token != null ? ChangeCursor.decode(token) : ChangeCursor.START;
+        LocalDateTime until = LocalDateTime.now().minusSeconds(changesSettleSeconds);
+
+        List<ProductChange> changes = new ArrayList<>();
+        productRepository.findChangedAfter(cursor.time(), cursor.id(), until, limit + 1)
+                .forEach(product -> changes.add(ProductChange.builder()
+                        .id(product.getId())
+                        .changedAt(product.getUpdatedAt())
+                        .product(toResponse(product))
+                        .build()));
+        tombstoneRepository.findDeletedAfter(cursor.time(), cursor.id(), until, limit + 1)
+                .forEach(tombstone -> changes.add(ProductChange.builder()
+                        .id(tombstone.getProductId())
+                        .deleted(true)
+                        .changedAt(tombstone.getDeletedAt())
+                        .build()));
+        changes.sort(Comparator.comparing(ProductChange::getChangedAt).thenComparing(ProductChange::getId));
+
+        boolean hasMore = changes.size() > limit;
+        List<ProductChange> page = hasMore ? new ArrayList<>(changes.subList(0, limit)) : changes;
+        ChangeCursor next = page.isEmpty()
+                ? cursor
+                : new ChangeCursor(page.get(page.size() - 1).getChangedAt(), page.get(page.size() - 1).getId());
+
+        return ProductChangesResponse.builder()
+                .changes(page)
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Position in the changes feed, passed to clients as an opaque token
+     */
+    private record ChangeCursor(LocalDateTime time, long id) {
+
+        static final ChangeCursor START = new ChangeCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((time + "," + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ChangeCursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(",");
+                return new ChangeCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid changes token");
+            }
+        }
     }
 
-    public List<Product> searchProducts(@NonNull String keyword) {
-        return productRepository.findByTitleOrTagsContaining(keyword);
+    @Transactional(readOnly = true)
+    public Page<Product> searchProducts(@NonNull String keyword, int page, int size) {
+        String normalized = keyword.trim().toLowerCase(Locale.ROOT);
+        String pattern = "%" + normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return productRepository.search(normalized, pattern, PageRequest.of(page, size));
     }
 
     public String generateImageUploadUrl(String fileName, String contentType) {
         return s3Service.generatePresignedUrl(fileName, contentType);
     }
-}
 
+    public List<UploadUrlResponse> generateImageUploadUrls(List<UploadUrlRequest> requests) {
+        return s3Service.generatePresignedUrls(requests);
+    }
 
+    private ProductResponse loadProduct(Long id) {
+        return loadFromPrimary(() -> productRepository.findDetailById(id).map(this::toResponse).orElse(null));
+    }
+
+    /**
+     * Loads for the product cache stay off the replica: a lagging copy would be cached
+     * and only replaced by the next write, as cache() keeps the higher version
+     */
+    private <T> T loadFromPrimary(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    /**
+     * Write-through once the change is committed; a rolled-back update never reaches the cache
+     */
+    private void cacheAfterCommit(ProductResponse response) {
+        productCache.invalidate(response.getId());
+        afterCommit(() -> cache(response));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Keep the newer version when concurrent writers or loaders race
+     */
+    private void cache(ProductResponse response) {
+        productCache.asMap().merge(response.getId(), response, (cached, fresh) ->
+                fresh.getVersion() >= cached.getVersion() ? fresh : cached);
+    }
+
+    /**
+     * Must run inside a transaction: copies the lazily loaded collections
+     */
+    private ProductResponse toResponse(Product product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .title(product.getTitle())
+                .description(product.getDescription())
+                .bullets(product.getBullets() != null ? List.copyOf(product.getBullets()) : null)
+                .imageUrl(product.getImageUrl())
+                .productUrl(product.getProductUrl())
+                .price(product.getPrice())
+                .tags(product.getTags() != null ? List.copyOf(product.getTags()) : null)
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .imageVariants(product.getImageVariants() != null ? Map.copyOf(product.getImageVariants()) : Map.of())
+                .version(product.getVersion())
+                .build();
+    }
+}
@@ -1,25 +1,42 @@
 package com.lexo.productservice.service;
 
+import com.lexo.productservice.dto.UploadUrlRequest;
+import com.lexo.productservice.dto.UploadUrlResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class S3Service {
 
+    private static final String DEFAULT_CONTENT_TYPE = "image/jpeg";
+
     private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
     private final String bucketName;
+    // Host of the S3-compatible endpoint override, or null for AWS
+    private final String endpointHost;
 
-    public S3Service(S3Client s3Client, @Value("${aws.s3.bucket}") String bucketName) {
+    public S3Service(S3Client s3Client,
+                     S3Presigner s3Presigner,
+                     @Value("${aws.s3.bucket}") String bucketName,
+                     @Value("${aws.s3.endpoint:}") String endpoint) {
         this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
         this.bucketName = bucketName;
+        this.endpointHost = endpoint.isBlank() ? null : URI.create(endpoint).getHost();
     }
 
     public String generatePresignedUrl(String fileName, String contentType) {
@@ -28,23 +45,86 @@ public class S3Service {
         PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                 .bucket(bucketName)
                 .key(key)
-                .contentType(contentType)
+                .contentType(contentType != null ? contentType : DEFAULT_CONTENT_TYPE)
+                .build();
+
+        // Signing is local computation; the shared presigner makes no network call here
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofMinutes(15))
+                .putObjectRequest(putObjectRequest)
                 .build();
 
-        try (S3Presigner s3Presigner = S3Presigner.create()) {
-            PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofMinutes(15))
-                    .putObjectRequest(putObjectRequest)
-                    .build();
+        PresignedPutObjectRequest presignedRequest = s3Presigner.presignPutObject(presignRequest);
+        return presignedRequest.url().toString();
+    }
+
+    public List<UploadUrlResponse> generatePresignedUrls(List<UploadUrlRequest> requests) {
+        return requests.stream()
+                .map(request -> UploadUrlResponse.builder()
+                        .fileName(request.getFileName())
+                        .presignedUrl(generatePresignedUrl(request.getFileName(), request.getContentType()))
+                        .build())
+                .collect(Collectors.toList());
+    }
 
-            PresignedPutObjectRequest presignedRequest = s3Presigner.presignPutObject(presignRequest);
-            return presignedRequest.url().toString();
+    /**
+     * Key of an object in our bucket, or null when the URL points elsewhere.
+     * Accepts virtual-hosted (bucket.host/key) and path-style (host/bucket/key) URLs.
+     */
+    public String keyOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+        String host = uri.getHost();
+        String path = uri.getPath();
+        if (host == null || path == null || path.isEmpty()) {
+            return null;
         }
+
+        String serviceHost;
+        String key;
+        if (host.startsWith(bucketName + ".")) {
+            serviceHost = host.substring(bucketName.length() + 1);
+            key = path.substring(1);
+        } else if (path.startsWith("/" + bucketName + "/")) {
+            serviceHost = host;
+            key = path.substring(bucketName.length() + 2);
+        } else {
+            return null;
+        }
+
+        boolean ours = endpointHost != null
+                ? serviceHost.equals(endpointHost)
+                : serviceHost.endsWith(".amazonaws.com");
+        return ours && !key.isEmpty() ? key : null;
+    }
+
+    public byte[] getObject(String key) {
+        return s3Client.getObjectAsBytes(builder -> builder.bucket(bucketName).key(key)).asByteArray();
+    }
+
+    /**
+     * Upload a derived object; keys are content-specific, so it can be cached indefinitely
+     */
+    public void putImmutableObject(String key, byte[] content, String contentType) {
+        s3Client.putObject(PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .cacheControl("public, max-age=31536000, immutable")
+                        .build(),
+                RequestBody.fromBytes(content));
     }
 
     public String getObjectUrl(String key) {
-        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, 
-                s3Client.serviceClientConfiguration().region().id(), key);
+        // Honours the endpoint override and path-style setting of the client
+        return s3Client.utilities().getUrl(builder -> builder.bucket(bucketName).key(key)).toString();
     }
 }
 
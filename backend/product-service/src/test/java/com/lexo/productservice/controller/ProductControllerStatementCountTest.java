@@ -0,0 +1,122 @@
+package com.lexo.productservice.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.lexo.productservice.dto.ProductResponse;
+import com.lexo.productservice.entity.Product;
+import com.lexo.productservice.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the fetch plans of the read endpoints. Tags, bullets and image variants are batch-fetched
+ * for up to 100 products per statement (@BatchSize), so the listing's statement count grows with
+ * every started hundred of products, never per product
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Testcontainers
+class ProductControllerStatementCountTest {
+
+    // More than two collection batches, so a per-product (N+1) fetch cannot pass unnoticed
+    private static final int PRODUCTS = 250;
+    private static final int BATCH_SIZE = 100;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private Cache<Long, ProductResponse> productCache;
+
+    private Statistics statistics;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .title("Product " + i)
+                    .price(new BigDecimal("9.99"))
+                    .productUrl("https://example.com/products/" + i)
+                    .tags(new ArrayList<>(List.of("tag-a", "tag-b")))
+                    .bullets(new ArrayList<>(List.of("First bullet", "Second bullet")))
+                    .imageVariants(new HashMap<>(Map.of("w320-jpeg", "https://example.com/" + i + "_w320.jpg")))
+                    .build());
+        }
+        productId = productRepository.saveAll(products).get(0).getId();
+
+        productCache.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingFetchesCollectionsOneBatchPerHundredProducts() throws Exception {
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PRODUCTS));
+
+        // ETag fingerprint, products, then ceil(N / 100) batches each for bullets, tags and image variants
+        int batches = (PRODUCTS + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2 + 3L * batches);
+    }
+
+    @Test
+    void detailLoadsOnceAndIsThenServedFromTheCache() throws Exception {
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags.length()").value(2));
+
+        // Product joined with tags, then bullets and image variants
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void summariesRunOnlyThePageAndCountQueries() throws Exception {
+        mockMvc.perform(get("/api/products/summaries").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.totalElements").value(PRODUCTS));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
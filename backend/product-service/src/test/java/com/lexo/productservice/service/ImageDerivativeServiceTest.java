@@ -0,0 +1,166 @@
+package com.lexo.productservice.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.lexo.productservice.dto.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End to end against an S3 stand-in: creating a product with an image in our bucket
+ * records resized variants, and the variants exist in the bucket
+ */
+@SpringBootTest(properties = {
+        "aws.s3.bucket=" + ImageDerivativeServiceTest.BUCKET,
+        "product.images.variant-widths=320,800",
+        "product.images.formats=jpeg"
+})
+@AutoConfigureMockMvc
+@Testcontainers
+class ImageDerivativeServiceTest {
+
+    static final String BUCKET = "test-product-images";
+
+    static {
+        // Picked up by the DefaultCredentialsProvider; LocalStack accepts any credentials
+        System.setProperty("aws.accessKeyId", "test");
+        System.setProperty("aws.secretAccessKey", "test");
+    }
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static LocalStackContainer localstack = new LocalStackContainer(DockerImageName.parse("localstack/localstack:3.0"))
+            .withServices(LocalStackContainer.Service.S3);
+
+    @DynamicPropertySource
+    static void s3Properties(DynamicPropertyRegistry registry) {
+        registry.add("aws.s3.endpoint", () -> localstack.getEndpoint().toString());
+        registry.add("aws.region", localstack::getRegion);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private S3Client s3Client;
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void createBucket() {
+        if (s3Client.listBuckets().buckets().stream().noneMatch(bucket -> bucket.name().equals(BUCKET))) {
+            s3Client.createBucket(builder -> builder.bucket(BUCKET));
+        }
+    }
+
+    @Test
+    void createdProductGetsItsVariantsRecorded() throws Exception {
+        String key = "products/original_photo.png";
+        s3Client.putObject(builder -> builder.bucket(BUCKET).key(key).contentType("image/png"),
+                RequestBody.fromBytes(png(1000, 500)));
+        String imageUrl = s3Service.getObjectUrl(key);
+
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Lamp", "price": 19.99, "imageUrl": "%s", "productUrl": "https://example.com/lamp"}
+                                """.formatted(imageUrl)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = JsonPath.parse(body).read("$.id", Long.class);
+
+        Map<String, String> variants = awaitVariants(id, 2);
+
+        assertThat(variants).containsOnlyKeys("w320-jpeg", "w800-jpeg");
+        HeadObjectResponse variant = s3Client.headObject(builder -> builder
+                .bucket(BUCKET)
+                .key(s3Service.keyOf(variants.get("w320-jpeg"))));
+        assertThat(variant.contentType()).isEqualTo("image/jpeg");
+        assertThat(variant.cacheControl()).contains("immutable");
+    }
+
+    @Test
+    void smallOriginalGetsOneVariantNamedByItsOwnWidth() throws Exception {
+        String key = "products/original_icon.png";
+        s3Client.putObject(builder -> builder.bucket(BUCKET).key(key).contentType("image/png"),
+                RequestBody.fromBytes(png(300, 150)));
+
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Icon", "price": 2.50, "imageUrl": "%s", "productUrl": "https://example.com/icon"}
+                                """.formatted(s3Service.getObjectUrl(key))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = JsonPath.parse(body).read("$.id", Long.class);
+
+        // Both configured widths exceed the original: one re-encode at 300px, no upscaled copies
+        assertThat(awaitVariants(id, 1)).containsOnlyKeys("w300-jpeg");
+    }
+
+    @Test
+    void externalImageIsAcceptedAndLeftAlone() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Chair", "price": 49.00, "imageUrl": "https://images.example.com/chair.jpg",
+                                 "productUrl": "https://example.com/chair"}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.imageVariants").isEmpty());
+    }
+
+    private Map<String, String> awaitVariants(Long productId, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        Map<String, String> variants = Map.of();
+        while (System.currentTimeMillis() < deadline) {
+            variants = productService.getProductById(productId)
+                    .map(ProductResponse::getImageVariants)
+                    .orElse(Map.of());
+            if (variants.size() >= expected) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+        return variants;
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
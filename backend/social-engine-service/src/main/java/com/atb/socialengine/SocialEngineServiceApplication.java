@@ -2,6 +2,7 @@ package com.atb.socialengine;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Social Engine Service - AI-Powered Reply Generation
@@ -15,6 +16,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * Note: Tweet discovery is handled by the separate tweet-scout-service (Node.js)
  */
 @SpringBootApplication
+@EnableScheduling
 public class SocialEngineServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,28 @@
+package com.atb.socialengine.config;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.lang.NonNull;
+
+/**
+ * Marks Kafka listener threads as CONSUMER workload so their database work
+ * uses the consumer connection pool
+ */
+public class ConsumerWorkloadInterceptor<K, V> implements RecordInterceptor<K, V> {
+
+    @Override
+    public void setupThreadState(@NonNull Consumer<?, ?> consumer) {
+        Workload.set(Workload.CONSUMER);
+    }
+
+    @Override
+    public void clearThreadState(@NonNull Consumer<?, ?> consumer) {
+        Workload.clear();
+    }
+
+    @Override
+    public ConsumerRecord<K, V> intercept(@NonNull ConsumerRecord<K, V> record, @NonNull Consumer<K, V> consumer) {
+        return record;
+    }
+}
@@ -0,0 +1,115 @@
+package com.atb.socialengine.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource Routing Configuration - Bulkheaded connection pools
+ *
+ * Pools:
+ * - api: REST endpoints, schedulers and anything not running on a Kafka listener thread
+ * - consumer: Kafka listener threads (TaskConsumer, ReplyGeneratorConsumer)
+ * - replica: optional, read-only API transactions (only when datasource.replica.url is set)
+ *
+ * Each pool has its own size/timeouts and reports Hikari metrics tagged with its pool name,
+ * so a slow dashboard query cannot starve Kafka persistence and vice versa.
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("datasource.pools.api")
+    public HikariDataSource apiDataSource(DataSourceProperties properties,
+                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        return createPool("api", properties, meterRegistry);
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.pools.consumer")
+    public HikariDataSource consumerDataSource(DataSourceProperties properties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return createPool("consumer", properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("apiDataSource") DataSource apiDataSource,
+            @Qualifier("consumerDataSource") DataSource consumerDataSource,
+            ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(
+                apiDataSource, consumerDataSource, replicaLagMonitor.getIfAvailable());
+        routing.afterPropertiesSet();
+        // Defer connection checkout until the transaction's read-only flag is known
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static HikariDataSource createPool(String name, DataSourceProperties properties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(name);
+        // Set before the pool starts; Boot's binder would be too late for pools used at startup
+        meterRegistry.ifAvailable(registry ->
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+
+    /**
+     * Optional read replica for read-only API transactions
+     */
+    @Configuration
+    @ConditionalOnExpression("!'${datasource.replica.url:}'.isEmpty()")
+    static class ReplicaConfiguration {
+
+        @Bean
+        @ConfigurationProperties("datasource.replica.hikari")
+        public HikariDataSource replicaDataSource(
+                DataSourceProperties properties,
+                ObjectProvider<MeterRegistry> meterRegistry,
+                @Value("${datasource.replica.url}") String url,
+                @Value("${datasource.replica.username:}") String username,
+                @Value("${datasource.replica.password:}") String password) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.getDriverClassName())
+                    .url(url)
+                    .username(username.isEmpty() ? properties.getUsername() : username)
+                    .password(password.isEmpty() ? properties.getPassword() : password)
+                    .build();
+            dataSource.setPoolName("replica");
+            dataSource.setReadOnly(true);
+            meterRegistry.ifAvailable(registry ->
+                    dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            return dataSource;
+        }
+
+        @Bean
+        public ReplicaLagMonitor replicaLagMonitor(
+                @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                @Value("${datasource.replica.max-lag-seconds:5}") double maxLagSeconds) {
+            return new ReplicaLagMonitor(replicaDataSource, maxLagSeconds);
+        }
+
+        @Bean
+        public ReadYourWritesFilter readYourWritesFilter(
+                @Value("${datasource.read-your-writes.window-seconds:10}") int windowSeconds) {
+            return new ReadYourWritesFilter(windowSeconds);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Kafka Configuration for Social Engine Service
@@ -27,6 +28,7 @@ import java.util.Map;
  * - new_tweets: Incoming candidate tweets from TweetScout
  * - generated_replies: AI-generated replies from ReplyGenerator
  * - dead_letter: Failed messages for monitoring
+ * - campaign_events: Campaign changes published by campaign-service (consumed for cache invalidation)
  */
 @Configuration
 public class KafkaConfig {
@@ -41,6 +43,7 @@ public class KafkaConfig {
     public static final String NEW_TWEETS_TOPIC = "new_tweets";
     public static final String GENERATED_REPLIES_TOPIC = "generated_replies";
     public static final String DEAD_LETTER_TOPIC = "dead_letter";
+    public static final String CAMPAIGN_EVENTS_TOPIC = "campaign_events";
     
     // ============ Topic Creation ============
     
@@ -112,6 +115,7 @@ public class KafkaConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(tweetConsumerFactory());
         factory.setConcurrency(3);
+        factory.setRecordInterceptor(new ConsumerWorkloadInterceptor<>());
         factory.getContainerProperties().setAckMode(org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL);
         return factory;
     }
@@ -140,8 +144,33 @@ public class KafkaConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(replySuggestionConsumerFactory());
         factory.setConcurrency(2);
+        factory.setRecordInterceptor(new ConsumerWorkloadInterceptor<>());
         factory.getContainerProperties().setAckMode(org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL);
         return factory;
     }
+    
+    // ============ Consumer Configuration - Campaign Events ============
+    
+    @Bean
+    public ConsumerFactory<String, String> campaignEventConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // Every instance invalidates its own caches, so each one gets its own group
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupId + "-campaign-events-" + UUID.randomUUID());
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+    
+    @Bean
+    @SuppressWarnings("null")
+    public ConcurrentKafkaListenerContainerFactory<String, String> campaignEventKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = 
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(campaignEventConsumerFactory());
+        factory.setConcurrency(1);
+        return factory;
+    }
 }
-
@@ -0,0 +1,15 @@
+package com.atb.socialengine.config;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types spoken with campaign/product-service
+ */
+public final class MediaTypes {
+
+    // Smile (binary JSON), served by their /internal lookup endpoints
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private MediaTypes() {
+    }
+}
@@ -0,0 +1,47 @@
+package com.atb.socialengine.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Hedged requests for idempotent inter-service reads
+ *
+ * When the first attempt has not answered within the hedge delay, a second identical request
+ * is sent and the first successful response wins; the other is cancelled. Pick the delay around
+ * the downstream p95 of a single lookup so only the slow tail is duplicated, and hedge single-item
+ * lookups only: a bulk or streamed call routinely outlasts that delay and would always be sent twice.
+ * A delay of 0 disables hedging.
+ */
+@Component
+public class RequestHedger {
+
+    private final Duration delay;
+
+    public RequestHedger(@Value("${http.client.hedge-delay-ms:0}") long delayMs) {
+        this.delay = Duration.ofMillis(delayMs);
+    }
+
+    /**
+     * @param request a cold Mono (e.g. a WebClient exchange); each subscription sends a request.
+     *                Never pass a non-idempotent call.
+     * @return the first successful response; fails with the first attempt's error only when both fail
+     */
+    public <T> Mono<T> hedge(Mono<T> request) {
+        if (delay.isZero()) {
+            return request;
+        }
+        // An empty result (e.g. not found) is an answer too, so it has to be able to win
+        Mono<Optional<T>> attempt = request.map(Optional::of).defaultIfEmpty(Optional.empty());
+        return Mono.firstWithValue(attempt, Mono.delay(delay).then(attempt))
+                .onErrorMap(NoSuchElementException.class, e -> Exceptions.unwrapMultiple(e.getCause()).stream()
+                        .findFirst()
+                        .orElse(e))
+                .flatMap(Mono::justOrEmpty);
+    }
+}
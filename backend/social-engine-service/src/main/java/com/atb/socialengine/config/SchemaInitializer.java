@@ -0,0 +1,61 @@
+package com.atb.socialengine.config;
+
+import com.atb.socialengine.service.TaskPartitionService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schema Initializer - Applies DDL that Hibernate's ddl-auto cannot express
+ *
+ * Runs after the EntityManagerFactory has created/updated the tables and before
+ * the Kafka listener containers start consuming.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class SchemaInitializer {
+
+    private final TaskPartitionService taskPartitionService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initialize() {
+        log.info("Applying schema extensions");
+        taskPartitionService.migrateToPartitionedTable();
+        taskPartitionService.ensureUpcomingPartitions();
+        createTaskSearchIndex();
+        createShortLinkCodeSequence();
+        createActiveShortLinkIndex();
+    }
+
+    /**
+     * Full-text search over tweet and reply text (generated tsvector + GIN index)
+     */
+    private void createTaskSearchIndex() {
+        jdbcTemplate.execute("ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                "GENERATED ALWAYS AS (to_tsvector('english', " +
+                "coalesce(tweet_text, '') || ' ' || coalesce(reply_text, ''))) STORED");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector)");
+    }
+
+    /**
+     * Source of self-hosted short codes; starts at 62^3 so every code has at least 4 characters
+     */
+    private void createShortLinkCodeSequence() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS short_link_code_seq START WITH 238328");
+    }
+
+    /**
+     * One active link per (original URL, campaign); retired links keep their rows
+     */
+    private void createActiveShortLinkIndex() {
+        jdbcTemplate.execute("ALTER TABLE short_link_log DROP CONSTRAINT IF EXISTS uk_short_link_log_url_campaign");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_short_link_log_active_url_campaign " +
+                "ON short_link_log (original_url, campaign_id) WHERE retired_at IS NULL");
+    }
+}
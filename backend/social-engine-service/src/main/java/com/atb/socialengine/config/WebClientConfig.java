@@ -1,18 +1,114 @@
 package com.atb.socialengine.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.smile.Jackson2SmileDecoder;
+import org.springframework.http.codec.smile.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 /**
  * WebClient Configuration for inter-service communication
+ *
+ * One long-lived WebClient per downstream service, each with its own bounded connection pool
+ * (so a slow service cannot take the other's connections) and connect/response timeouts.
+ * Pool and request metrics are published under reactor.netty.* tagged by pool name.
  */
 @Configuration
 public class WebClientConfig {
-    
+
+    @Value("${http.client.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${http.client.pending-acquire-timeout-ms:2000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${http.client.max-idle-time-ms:30000}")
+    private long maxIdleTimeMs;
+
+    @Value("${http.client.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${http.client.response-timeout-ms:5000}")
+    private long responseTimeoutMs;
+
+    // HTTP/2 with prior knowledge; both services accept it (server.http2.enabled)
+    @Value("${http.client.h2c:false}")
+    private boolean h2c;
+
+    /**
+     * Smile codecs for the internal lookups, built from Boot's Jackson settings like the JSON ones;
+     * applied to every WebClient.Builder Boot hands out
+     */
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public CodecCustomizer smileCodecCustomizer(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        ObjectMapper smileMapper = objectMapperBuilder.createXmlMapper(false).factory(new SmileFactory()).build();
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+        };
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider campaignServiceConnectionProvider() {
+        return connectionProvider("campaign-service");
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider productServiceConnectionProvider() {
+        return connectionProvider("product-service");
+    }
+
+    @Bean
+    public WebClient campaignWebClient(WebClient.Builder webClientBuilder,
+                                       ConnectionProvider campaignServiceConnectionProvider,
+                                       @Value("${campaign.service.url:http://localhost:8082}") String baseUrl) {
+        return webClient(webClientBuilder, campaignServiceConnectionProvider, baseUrl);
+    }
+
+    @Bean
+    public WebClient productWebClient(WebClient.Builder webClientBuilder,
+                                      ConnectionProvider productServiceConnectionProvider,
+                                      @Value("${product.service.url:http://localhost:8080}") String baseUrl) {
+        return webClient(webClientBuilder, productServiceConnectionProvider, baseUrl);
+    }
+
+    private ConnectionProvider connectionProvider(String name) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .evictInBackground(Duration.ofMillis(maxIdleTimeMs))
+                .metrics(true)
+                .build();
     }
-}
 
+    private WebClient webClient(WebClient.Builder webClientBuilder, ConnectionProvider connectionProvider, String baseUrl) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+                // Collapse IDs so request metrics keep a bounded set of uri tags
+                .metrics(true, uri -> uri.replaceAll("/\\d+", "/{id}").replaceAll("\\?.*", ""));
+        if (h2c) {
+            // Requests are multiplexed as streams over the pooled connections
+            httpClient = httpClient.protocol(HttpProtocol.H2C);
+        }
+
+        // Boot's builder is a fresh prototype per injection point; clone anyway so nothing leaks back
+        return webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.atb.socialengine.config;
+
+/**
+ * Workload classification of the current thread, used to pick a connection pool
+ */
+public enum Workload {
+    API,
+    CONSUMER;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : API;
+    }
+
+    public static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
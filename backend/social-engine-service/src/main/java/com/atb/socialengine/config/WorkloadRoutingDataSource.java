@@ -0,0 +1,56 @@
+package com.atb.socialengine.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes each connection request to a dedicated pool:
+ * - Kafka consumer threads always use the consumer pool
+ * - Read-only API transactions use the replica while it is healthy and within the
+ *   allowed lag (when a replica is configured)
+ * - Everything else uses the API pool on the primary
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the connection is fetched
+ * after the transaction's read-only flag has been set.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        API,
+        CONSUMER,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public WorkloadRoutingDataSource(DataSource api, DataSource consumer, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.API, api);
+        targets.put(Route.CONSUMER, consumer);
+        if (lagMonitor != null) {
+            targets.put(Route.REPLICA, lagMonitor.getReplicaDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(api);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (Workload.current() == Workload.CONSUMER) {
+            return Route.CONSUMER;
+        }
+        if (lagMonitor != null
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWritesFilter.isPinnedToPrimary()
+                && lagMonitor.isReplicaUsable()) {
+            return Route.REPLICA;
+        }
+        return Route.API;
+    }
+}
@@ -0,0 +1,45 @@
+package com.atb.socialengine.consumer;
+
+import com.atb.socialengine.config.KafkaConfig;
+import com.atb.socialengine.service.CampaignClientService;
+import com.atb.socialengine.service.ShortLinkProvisioner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CampaignEventConsumer - Keeps local campaign data in step with campaign-service
+ * 
+ * Evicts the cached campaign on every change and re-checks that campaign's short link,
+ * so activations are provisioned right away and deactivated campaigns are dropped.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CampaignEventConsumer {
+    
+    private final CampaignClientService campaignClientService;
+    private final ShortLinkProvisioner shortLinkProvisioner;
+    
+    @KafkaListener(
+        topics = KafkaConfig.CAMPAIGN_EVENTS_TOPIC,
+        containerFactory = "campaignEventKafkaListenerContainerFactory"
+    )
+    public void onCampaignEvent(ConsumerRecord<String, String> record) {
+        if (record.key() == null) {
+            return;
+        }
+        Long campaignId = Long.valueOf(record.key());
+        Header header = record.headers().lastHeader("eventType");
+        String eventType = header != null ? new String(header.value(), StandardCharsets.UTF_8) : "UPDATED";
+        
+        log.debug("Campaign {} event: {}", campaignId, eventType);
+        campaignClientService.evict(campaignId);
+        shortLinkProvisioner.refresh(campaignId);
+    }
+}
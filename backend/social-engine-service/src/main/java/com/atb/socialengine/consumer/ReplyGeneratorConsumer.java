@@ -8,7 +8,7 @@ import com.atb.socialengine.model.Tweet;
 import com.atb.socialengine.service.CampaignClientService;
 import com.atb.socialengine.service.ChatGPTService;
 import com.atb.socialengine.service.ProductClientService;
-import com.atb.socialengine.service.ShortLinkService;
+import com.atb.socialengine.service.ShortLinkProvisioner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -24,8 +24,8 @@ import java.util.Map;
  * Flow:
  * 1. Consume tweets from new_tweets topic
  * 2. Fetch campaign and product information
- * 3. Generate short link for product
- * 4. Use ChatGPT to create natural, conversational reply
+ * 3. Look up the pre-provisioned short link for the product (never waits on the link provider)
+ * 4. Reserve daily-limit quota, then use ChatGPT to create natural, conversational reply
  * 5. Publish reply to generated_replies topic (Kafka)
  * 
  * Note: This consumer does NOT save to database directly.
@@ -38,7 +38,7 @@ public class ReplyGeneratorConsumer {
     
     private final CampaignClientService campaignClientService;
     private final ProductClientService productClientService;
-    private final ShortLinkService shortLinkService;
+    private final ShortLinkProvisioner shortLinkProvisioner;
     private final ChatGPTService chatGPTService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     
@@ -49,6 +49,7 @@ public class ReplyGeneratorConsumer {
     )
     @SuppressWarnings("null")
     public void processNewTweet(Tweet tweet, Acknowledgment acknowledgment) {
+        Long reservedCampaignId = null;
         try {
             log.info("========================================");
             log.info("🧠 ReplyGenerator: Processing tweet {}", tweet.getTweetId());
@@ -79,14 +80,27 @@ public class ReplyGeneratorConsumer {
             
             log.info("✅ Product: {}", product.getTitle());
             
-            // 3. Generate short link (still stored for tracking/clicks, but NOT used in reply text)
-            String shortLink = shortLinkService.generateShortLink(
+            // 3. Short link (still stored for tracking/clicks, but NOT used in reply text).
+            //    Provisioned in the background; if not ready yet the reply goes out without one.
+            String shortLink = shortLinkProvisioner.getShortLink(
                 product.getProductUrl(),
                 product.getId(),
                 campaign.getId()
             );
             
-            log.info("🔗 Generated short link: {}", shortLink);
+            if (shortLink != null) {
+                log.info("🔗 Short link: {}", shortLink);
+            } else {
+                log.info("🔗 Short link not provisioned yet for campaign {}, continuing without", campaign.getId());
+            }
+            
+            // Reserve one unit of the campaign's daily limit before any LLM spend
+            if (!campaignClientService.reserveQuota(campaign.getId(), 1)) {
+                log.info("⛔ Daily limit reached for campaign {}, dropping tweet {}", campaign.getId(), tweet.getTweetId());
+                acknowledgment.acknowledge();
+                return;
+            }
+            reservedCampaignId = campaign.getId();
             
             // 4. Generate reply using ChatGPT with risk analysis
             log.info("🤖 Calling ChatGPT to generate reply with safety analysis...");
@@ -121,7 +135,15 @@ public class ReplyGeneratorConsumer {
                 .build();
             
             // 7. ✅ Publish to Kafka (generated_replies topic) instead of direct DB insert
-            kafkaTemplate.send(KafkaConfig.GENERATED_REPLIES_TOPIC, tweet.getTweetId(), suggestion);
+            Long campaignId = campaign.getId();
+            kafkaTemplate.send(KafkaConfig.GENERATED_REPLIES_TOPIC, tweet.getTweetId(), suggestion)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.error("❌ Failed to publish reply for tweet {}, releasing quota", tweet.getTweetId());
+                        campaignClientService.releaseQuota(campaignId, 1);
+                    }
+                });
+            reservedCampaignId = null;
             
             log.info("========================================");
             log.info("✅ ReplyGenerator: Published reply to Kafka");
@@ -136,6 +158,11 @@ public class ReplyGeneratorConsumer {
         } catch (Exception e) {
             log.error("❌ Error processing tweet {}: {}", tweet.getTweetId(), e.getMessage(), e);
             
+            // No reply was produced; give the reserved unit back
+            if (reservedCampaignId != null) {
+                campaignClientService.releaseQuota(reservedCampaignId, 1);
+            }
+            
             // Send to dead letter queue
             try {
                 kafkaTemplate.send(KafkaConfig.DEAD_LETTER_TOPIC, tweet.getTweetId(), tweet);
@@ -2,6 +2,7 @@ package com.atb.socialengine.consumer;
 
 import com.atb.socialengine.config.KafkaConfig;
 import com.atb.socialengine.model.ReplySuggestion;
+import com.atb.socialengine.service.CampaignClientService;
 import com.atb.socialengine.service.TaskService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +17,8 @@ import org.springframework.stereotype.Component;
  * 1. Consume reply suggestions from generated_replies topic
  * 2. Save to PostgreSQL as Task entity
  * 3. Tasks can be reviewed manually or processed automatically
+ * 
+ * A reply that cannot be saved gives its daily-limit unit back to the campaign.
  */
 @Component
 @Slf4j
@@ -23,6 +26,7 @@ import org.springframework.stereotype.Component;
 public class TaskConsumer {
     
     private final TaskService taskService;
+    private final CampaignClientService campaignClientService;
     
     @KafkaListener(
         topics = KafkaConfig.GENERATED_REPLIES_TOPIC,
@@ -50,6 +54,9 @@ public class TaskConsumer {
         } catch (Exception e) {
             log.error("Error processing reply suggestion for tweet {}: {}", 
                      suggestion.getTweetId(), e.getMessage(), e);
+            if (suggestion.getCampaignId() != null) {
+                campaignClientService.releaseQuota(suggestion.getCampaignId(), 1);
+            }
             acknowledgment.acknowledge();
         }
     }
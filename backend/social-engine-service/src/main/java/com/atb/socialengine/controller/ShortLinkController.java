@@ -0,0 +1,55 @@
+package com.atb.socialengine.controller;
+
+import com.atb.socialengine.service.ShortLinkProvisioner;
+import com.atb.socialengine.service.ShortLinkRedirectService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * ShortLinkController - Redirects self-hosted short links and manages campaign links
+ */
+@RestController
+@RequiredArgsConstructor
+public class ShortLinkController {
+    
+    private final ShortLinkRedirectService shortLinkRedirectService;
+    private final ShortLinkProvisioner shortLinkProvisioner;
+    
+    /**
+     * GET /s/{code} - 302 to the original URL
+     */
+    @GetMapping("/s/{code}")
+    public ResponseEntity<Void> redirect(@PathVariable String code) {
+        URI target = shortLinkRedirectService.resolve(code);
+        if (target == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        // Not cacheable, so every click reaches us and is counted
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(target)
+                .cacheControl(CacheControl.noStore())
+                .build();
+    }
+    
+    /**
+     * POST /api/short-links/campaigns/{campaignId}/invalidate - Replace a campaign's short link
+     */
+    @PostMapping("/api/short-links/campaigns/{campaignId}/invalidate")
+    public ResponseEntity<Map<String, Object>> invalidate(@PathVariable Long campaignId) {
+        shortLinkProvisioner.invalidate(campaignId);
+        return ResponseEntity.accepted().body(Map.of(
+                "campaignId", campaignId,
+                "message", "Short link invalidated, a new one is being provisioned"
+        ));
+    }
+}
@@ -1,12 +1,21 @@
 package com.atb.socialengine.controller;
 
 import com.atb.socialengine.entity.Task;
+import com.atb.socialengine.service.TaskArchiveService;
+import com.atb.socialengine.service.TaskExportService;
 import com.atb.socialengine.service.TaskService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +30,8 @@ import java.util.Map;
 public class TaskController {
     
     private final TaskService taskService;
+    private final TaskArchiveService taskArchiveService;
+    private final TaskExportService taskExportService;
     
     /**
      * Get all tasks with optional filters
@@ -55,6 +66,60 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
     
+    /**
+     * Full-text search over tweet and reply text, ranked by relevance
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<Task>> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long campaignId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        log.info("Searching tasks - q: {}, status: {}, campaignId: {}, page: {}, size: {}", 
+                query, status, campaignId, page, size);
+        
+        if (query.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        Page<Task> results = taskService.searchTasks(
+                query, status, campaignId, Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(results);
+    }
+    
+    /**
+     * Stream tasks as NDJSON (default) or CSV for bulk analysis
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long campaignId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        log.info("Exporting tasks - format: {}, status: {}, campaignId: {}, from: {}, to: {}", 
+                format, status, campaignId, from, to);
+        
+        TaskExportService.Format exportFormat;
+        try {
+            exportFormat = TaskExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        boolean csv = exportFormat == TaskExportService.Format.CSV;
+        StreamingResponseBody body = out -> taskExportService.export(exportFormat, status, campaignId, from, to, out);
+        
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=tasks." + (csv ? "csv" : "ndjson"))
+                .body(body);
+    }
+    
     /**
      * Get task by ID
      */
@@ -153,4 +218,31 @@ public class TaskController {
         Map<String, Object> stats = taskService.getCampaignStatistics(campaignId);
         return ResponseEntity.ok(stats);
     }
+    
+    /**
+     * Look up archived (cold) tasks that were moved out of the tasks table
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<List<Task>> getArchivedTasks(
+            @RequestParam(required = false) YearMonth month,
+            @RequestParam(required = false) Long campaignId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String tweetId,
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        log.info("Getting archived tasks - month: {}, campaignId: {}, status: {}, tweetId: {}", 
+                month, campaignId, status, tweetId);
+        
+        List<Task> tasks = taskArchiveService.findArchivedTasks(
+                month, campaignId, status, tweetId, Math.min(Math.max(limit, 1), 1000));
+        return ResponseEntity.ok(tasks);
+    }
+    
+    /**
+     * List archived months
+     */
+    @GetMapping("/archive/months")
+    public ResponseEntity<List<YearMonth>> getArchivedMonths() {
+        return ResponseEntity.ok(taskArchiveService.getArchivedMonths());
+    }
 }
@@ -24,5 +24,6 @@ public class CampaignDto {
     private List<String> hashtags;
     private List<String> keywords;
     private String targetAudience;
+    private Long version;
 }
 
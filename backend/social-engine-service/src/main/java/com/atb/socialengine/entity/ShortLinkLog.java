@@ -11,6 +11,9 @@ import java.time.LocalDateTime;
 
 /**
  * ShortLinkLog entity - Maintains a log of generated short URLs
+ *
+ * At most one non-retired link per (original URL, campaign); the partial unique index
+ * is created by SchemaInitializer.
  */
 @Entity
 @Table(name = "short_link_log")
@@ -37,7 +40,7 @@ public class ShortLinkLog {
     private String shortUrl;
     
     @Column(name = "link_provider")
-    private String linkProvider; // BITLY, FALLBACK
+    private String linkProvider; // BITLY, FALLBACK, INTERNAL
     
     @Column(name = "click_count")
     @Default
@@ -46,6 +49,10 @@ public class ShortLinkLog {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
+    // Set when the link is replaced; it still redirects, but is no longer handed out
+    @Column(name = "retired_at")
+    private LocalDateTime retiredAt;
+    
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -2,8 +2,10 @@ package com.atb.socialengine.repository;
 
 import com.atb.socialengine.entity.ShortLinkLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +13,14 @@ public interface ShortLinkLogRepository extends JpaRepository<ShortLinkLog, Long
     
     Optional<ShortLinkLog> findByShortUrl(String shortUrl);
     
-    Optional<ShortLinkLog> findFirstByOriginalUrlAndCampaignId(String originalUrl, Long campaignId);
+    Optional<ShortLinkLog> findFirstByOriginalUrlAndCampaignIdAndRetiredAtIsNull(String originalUrl, Long campaignId);
+    
+    List<ShortLinkLog> findByLinkProvider(String linkProvider);
+    
+    /**
+     * Next value for self-hosted short codes (sequence created by SchemaInitializer)
+     */
+    @Query(value = "SELECT nextval('short_link_code_seq')", nativeQuery = true)
+    long nextShortCode();
 }
 
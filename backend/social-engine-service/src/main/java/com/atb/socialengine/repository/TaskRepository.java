@@ -1,13 +1,19 @@
 package com.atb.socialengine.repository;
 
 import com.atb.socialengine.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -37,5 +43,39 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
         @Param("campaignId") Long campaignId, 
         @Param("createdAfter") LocalDateTime createdAfter
     );
+    
+    // Full-text search over tweet/reply text, ranked by relevance
+    @Query(value = "SELECT t.* FROM tasks t, websearch_to_tsquery('english', :query) q " +
+                   "WHERE t.search_vector @@ q " +
+                   "AND (CAST(:status AS text) IS NULL OR t.status = :status) " +
+                   "AND (CAST(:campaignId AS bigint) IS NULL OR t.campaign_id = :campaignId) " +
+                   "ORDER BY ts_rank(t.search_vector, q) DESC, t.id DESC",
+           countQuery = "SELECT COUNT(*) FROM tasks t " +
+                   "WHERE t.search_vector @@ websearch_to_tsquery('english', :query) " +
+                   "AND (CAST(:status AS text) IS NULL OR t.status = :status) " +
+                   "AND (CAST(:campaignId AS bigint) IS NULL OR t.campaign_id = :campaignId)",
+           nativeQuery = true)
+    Page<Task> searchByText(
+        @Param("query") String query,
+        @Param("status") String status,
+        @Param("campaignId") Long campaignId,
+        Pageable pageable
+    );
+    
+    // Cursor-based stream for exports (fixed fetch size, read-only entities)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE (:status IS NULL OR t.status = :status) " +
+           "AND (:campaignId IS NULL OR t.campaignId = :campaignId) " +
+           "AND (:from IS NULL OR t.createdAt >= :from) " +
+           "AND (:to IS NULL OR t.createdAt < :to) " +
+           "ORDER BY t.id")
+    Stream<Task> streamForExport(
+        @Param("status") String status,
+        @Param("campaignId") Long campaignId,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
 }
-
@@ -1,26 +1,40 @@
 package com.atb.socialengine.service;
 
+import com.atb.socialengine.config.MediaTypes;
+import com.atb.socialengine.config.RequestHedger;
 import com.atb.socialengine.dto.CampaignDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * CampaignClientService - Communicates with campaign-service
+ * 
+ * Single campaigns are cached with their ETag and revalidated with If-None-Match,
+ * so an unchanged campaign costs a bodyless 304.
+ * Bulk lookups (by IDs, all active) use campaign-service's internal Smile endpoints.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class CampaignClientService {
     
-    private final WebClient.Builder webClientBuilder;
+    // Pooled client with timeouts, see WebClientConfig
+    private final WebClient campaignWebClient;
+    private final RequestHedger requestHedger;
     
-    @Value("${campaign.service.url:http://localhost:8082}")
-    private String campaignServiceUrl;
+    private final Map<Long, CachedCampaign> campaignCache = new ConcurrentHashMap<>();
+    
+    private record CachedCampaign(String etag, CampaignDto campaign) {}
     
     /**
      * Fetch all active campaigns
@@ -28,17 +42,20 @@ public class CampaignClientService {
     @SuppressWarnings("null")
     public List<CampaignDto> getActiveCampaigns() {
         try {
-            log.info("Fetching active campaigns from: {}", campaignServiceUrl);
-            
-            WebClient webClient = webClientBuilder.baseUrl(campaignServiceUrl).build();
+            log.info("Fetching active campaigns");
             
-            CampaignDto[] campaigns = webClient.get()
-                    .uri("/api/campaigns?status=ACTIVE")
+            // Streamed by campaign-service page by page; campaigns are cached as they arrive
+            List<CampaignDto> campaignList = campaignWebClient.get()
+                    .uri("/internal/campaigns/active")
+                    .accept(MediaTypes.SMILE)
                     .retrieve()
-                    .bodyToMono(CampaignDto[].class)
+                    .bodyToFlux(CampaignDto.class)
+                    .doOnNext(this::cache)
+                    .collectList()
                     .block();
-            
-            List<CampaignDto> campaignList = campaigns != null ? List.of(campaigns) : List.of();
+            if (campaignList == null) {
+                campaignList = List.of();
+            }
             log.info("Retrieved {} active campaigns", campaignList.size());
             
             return campaignList;
@@ -55,14 +72,29 @@ public class CampaignClientService {
     @SuppressWarnings("null")
     public CampaignDto getCampaignById(Long campaignId) {
         try {
-            log.info("Fetching campaign {} from: {}", campaignId, campaignServiceUrl);
+            log.debug("Fetching campaign {}", campaignId);
             
-            WebClient webClient = webClientBuilder.baseUrl(campaignServiceUrl).build();
+            CachedCampaign cached = campaignCache.get(campaignId);
             
-            return webClient.get()
+            return requestHedger.hedge(campaignWebClient.get()
                     .uri("/api/campaigns/" + campaignId)
-                    .retrieve()
-                    .bodyToMono(CampaignDto.class)
+                    .headers(headers -> {
+                        if (cached != null && cached.etag() != null) {
+                            headers.setIfNoneMatch(cached.etag());
+                        }
+                    })
+                    .exchangeToMono(response -> {
+                        if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && cached != null) {
+                            return Mono.just(cached.campaign());
+                        }
+                        if (response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                            campaignCache.remove(campaignId);
+                            return response.releaseBody().then(Mono.empty());
+                        }
+                        String etag = response.headers().asHttpHeaders().getFirst(HttpHeaders.ETAG);
+                        return response.bodyToMono(CampaignDto.class)
+                                .doOnNext(campaign -> campaignCache.put(campaignId, new CachedCampaign(etag, campaign)));
+                    }))
                     .block();
                     
         } catch (Exception e) {
@@ -70,5 +102,85 @@ public class CampaignClientService {
             return null;
         }
     }
+    
+    /**
+     * Fetch several campaigns in one request (also warms the cache); unknown IDs are left out
+     */
+    @SuppressWarnings("null")
+    public List<CampaignDto> getCampaignsByIds(Collection<Long> campaignIds) {
+        if (campaignIds.isEmpty()) {
+            return List.of();
+        }
+        try {
+            CampaignDto[] campaigns = campaignWebClient.post()
+                    .uri("/internal/campaigns/batch")
+                    .contentType(MediaTypes.SMILE)
+                    .accept(MediaTypes.SMILE)
+                    .bodyValue(List.copyOf(campaignIds))
+                    .retrieve()
+                    .bodyToMono(CampaignDto[].class)
+                    .block();
+            
+            List<CampaignDto> campaignList = campaigns != null ? List.of(campaigns) : List.of();
+            campaignList.forEach(this::cache);
+            return campaignList;
+            
+        } catch (Exception e) {
+            log.error("Error fetching campaigns {}", campaignIds, e);
+            return List.of();
+        }
+    }
+    
+    /**
+     * Reserve units of the campaign's daily limit.
+     * Fails closed: any error counts as "no quota" so nothing is spent without a reservation.
+     */
+    @SuppressWarnings("null")
+    public boolean reserveQuota(Long campaignId, int units) {
+        try {
+            // Not hedged: a reservation is not idempotent
+            HttpStatus status = campaignWebClient.post()
+                    .uri("/api/campaigns/" + campaignId + "/quota/reserve?units=" + units)
+                    .exchangeToMono(response -> response.releaseBody()
+                    .thenReturn(HttpStatus.valueOf(response.statusCode().value())))
+                    .block();
+            
+            return status == HttpStatus.OK;
+            
+        } catch (Exception e) {
+            log.error("Error reserving quota for campaign {}: {}", campaignId, e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Return reserved units that were not used. Fire-and-forget (safe to call from Kafka
+     * producer callbacks); a failure only means the units stay counted for today.
+     */
+    public void releaseQuota(Long campaignId, int units) {
+        campaignWebClient.post()
+                .uri("/api/campaigns/" + campaignId + "/quota/release?units=" + units)
+                .retrieve()
+                .toBodilessEntity()
+                .subscribe(
+                        response -> log.debug("Released {} quota units for campaign {}", units, campaignId),
+                        e -> log.error("Error releasing quota for campaign {}: {}", campaignId, e.getMessage()));
+    }
+    
+    /**
+     * Drop a cached campaign (it changed or was deleted)
+     */
+    public void evict(Long campaignId) {
+        campaignCache.remove(campaignId);
+    }
+    
+    /**
+     * Cache a campaign from a list response; campaign-service uses "id-version" as the ETag
+     */
+    private void cache(CampaignDto campaign) {
+        if (campaign.getId() != null && campaign.getVersion() != null) {
+            String etag = "\"" + campaign.getId() + "-" + campaign.getVersion() + "\"";
+            campaignCache.put(campaign.getId(), new CachedCampaign(etag, campaign));
+        }
+    }
 }
-
@@ -1,12 +1,17 @@
 package com.atb.socialengine.service;
 
+import com.atb.socialengine.config.MediaTypes;
+import com.atb.socialengine.config.RequestHedger;
 import com.atb.socialengine.dto.ProductDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * ProductClientService - Communicates with product-service
  */
@@ -15,10 +20,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 @RequiredArgsConstructor
 public class ProductClientService {
     
-    private final WebClient.Builder webClientBuilder;
-    
-    @Value("${product.service.url:http://localhost:8080}")
-    private String productServiceUrl;
+    // Pooled client with timeouts, see WebClientConfig
+    private final WebClient productWebClient;
+    private final RequestHedger requestHedger;
     
     /**
      * Fetch product information by ID
@@ -26,14 +30,13 @@ public class ProductClientService {
     @SuppressWarnings("null")
     public ProductDto getProductById(Long productId) {
         try {
-            log.info("Fetching product {} from: {}", productId, productServiceUrl);
+            log.info("Fetching product {}", productId);
             
-            WebClient webClient = webClientBuilder.baseUrl(productServiceUrl).build();
-            
-            return webClient.get()
-                    .uri("/api/products/" + productId)
-                    .retrieve()
-                    .bodyToMono(ProductDto.class)
+            return requestHedger.hedge(productWebClient.get()
+                            .uri("/internal/products/" + productId)
+                            .accept(MediaTypes.SMILE)
+                            .retrieve()
+                            .bodyToMono(ProductDto.class))
                     .block();
                     
         } catch (Exception e) {
@@ -41,5 +44,31 @@ public class ProductClientService {
             return null;
         }
     }
+    
+    /**
+     * Fetch several products in one streamed request; unknown IDs are left out
+     */
+    @SuppressWarnings("null")
+    public Map<Long, ProductDto> getProductsByIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            Map<Long, ProductDto> products = productWebClient.post()
+                    .uri("/internal/products/stream")
+                    .contentType(MediaTypes.SMILE)
+                    .accept(MediaTypes.SMILE)
+                    .bodyValue(List.copyOf(productIds))
+                    .retrieve()
+                    .bodyToFlux(ProductDto.class)
+                    .collectMap(ProductDto::getId)
+                    .block();
+            return products != null ? products : Map.of();
+            
+        } catch (Exception e) {
+            log.error("Error fetching products {}", productIds, e);
+            return Map.of();
+        }
+    }
 }
 
@@ -0,0 +1,198 @@
+package com.atb.socialengine.service;
+
+import com.atb.socialengine.dto.CampaignDto;
+import com.atb.socialengine.dto.ProductDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * ShortLinkProvisioner - Creates campaign short links ahead of the reply path
+ *
+ * - Campaign events refresh just the campaign they name; a periodic sync of all ACTIVE
+ *   campaigns is the backstop. Either queues a link for a campaign whose product URL has
+ *   no provisioned link yet (new campaign or changed product URL)
+ * - A single worker drains the queue at a fixed rate so Bitly calls stay rate limited
+ * - The reply path only reads already-provisioned links and never waits on the provider
+ */
+@Service
+@Slf4j
+public class ShortLinkProvisioner {
+
+    private final ShortLinkService shortLinkService;
+    private final CampaignClientService campaignClientService;
+    private final ProductClientService productClientService;
+    private final long intervalMs;
+
+    // Product URL each campaign was last provisioned for
+    private final Map<Long, String> provisionedUrls = new ConcurrentHashMap<>();
+    private final Set<Request> queued = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shortlink-provisioner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record Request(String originalUrl, Long productId, Long campaignId) {}
+
+    public ShortLinkProvisioner(ShortLinkService shortLinkService,
+                                CampaignClientService campaignClientService,
+                                ProductClientService productClientService,
+                                @Value("${shortlink.provisioning.max-requests-per-second:5}") double maxRequestsPerSecond) {
+        this.shortLinkService = shortLinkService;
+        this.campaignClientService = campaignClientService;
+        this.productClientService = productClientService;
+        this.intervalMs = Math.max(1, (long) (1000 / maxRequestsPerSecond));
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.scheduleWithFixedDelay(this::provisionNext, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Non-blocking lookup for the reply path. When the link is not provisioned yet,
+     * it is queued and null is returned so the reply goes out without a link.
+     */
+    public String getShortLink(String originalUrl, Long productId, Long campaignId) {
+        String shortLink = shortLinkService.getCachedShortLink(originalUrl, campaignId);
+        if (shortLink == null) {
+            request(originalUrl, productId, campaignId);
+        }
+        return shortLink;
+    }
+
+    /**
+     * Queue provisioning of a link (no-op if already queued)
+     */
+    public void request(String originalUrl, Long productId, Long campaignId) {
+        if (originalUrl == null) {
+            return;
+        }
+        Request request = new Request(originalUrl, productId, campaignId);
+        if (queued.add(request)) {
+            queue.add(request);
+        }
+    }
+
+    /**
+     * Retire a campaign's link and provision a new one. Runs on the provisioner worker,
+     * so the caller does not wait on campaign/product lookups.
+     */
+    public void invalidate(Long campaignId) {
+        worker.execute(() -> {
+            try {
+                CampaignDto campaign = campaignClientService.getCampaignById(campaignId);
+                ProductDto product = campaign != null ? productClientService.getProductById(campaign.getProductId()) : null;
+
+                String originalUrl = provisionedUrls.remove(campaignId);
+                if (originalUrl == null && product != null) {
+                    originalUrl = product.getProductUrl();
+                }
+                if (originalUrl != null) {
+                    shortLinkService.retire(originalUrl, campaignId);
+                    log.info("Retired short link for campaign {}", campaignId);
+                }
+                if (product != null && "ACTIVE".equals(campaign.getStatus())) {
+                    request(product.getProductUrl(), product.getId(), campaignId);
+                }
+            } catch (Exception e) {
+                log.error("Failed to invalidate short link for campaign {}: {}", campaignId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Re-check one campaign after a change event, on the provisioner worker
+     */
+    public void refresh(Long campaignId) {
+        worker.execute(() -> {
+            try {
+                CampaignDto campaign = campaignClientService.getCampaignById(campaignId);
+                if (campaign == null || !"ACTIVE".equals(campaign.getStatus())) {
+                    provisionedUrls.remove(campaignId);
+                    return;
+                }
+                ProductDto product = campaign.getProductId() != null
+                        ? productClientService.getProductById(campaign.getProductId()) : null;
+                provision(campaign, product);
+            } catch (Exception e) {
+                log.error("Failed to refresh short link for campaign {}: {}", campaignId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Pick up newly activated campaigns and product URL changes
+     */
+    @Scheduled(fixedDelayString = "${shortlink.provisioning.sync-interval-ms:60000}", initialDelay = 5000)
+    public void syncActiveCampaigns() {
+        Set<Long> active = new HashSet<>();
+        List<CampaignDto> campaigns = campaignClientService.getActiveCampaigns();
+        // One streamed lookup for all products instead of a request per campaign
+        Map<Long, ProductDto> products = productClientService.getProductsByIds(campaigns.stream()
+                .map(CampaignDto::getProductId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        for (CampaignDto campaign : campaigns) {
+            active.add(campaign.getId());
+            provision(campaign, products.get(campaign.getProductId()));
+        }
+
+        provisionedUrls.keySet().retainAll(active);
+    }
+
+    private void provision(CampaignDto campaign, ProductDto product) {
+        if (product == null || product.getProductUrl() == null) {
+            return;
+        }
+
+        String previous = provisionedUrls.get(campaign.getId());
+        if (product.getProductUrl().equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            // Product URL changed; the old link is no longer handed out
+            shortLinkService.evict(previous, campaign.getId());
+        }
+        request(product.getProductUrl(), product.getId(), campaign.getId());
+    }
+
+    private void provisionNext() {
+        Request request = queue.poll();
+        if (request == null) {
+            return;
+        }
+        try {
+            shortLinkService.generateShortLink(request.originalUrl(), request.productId(), request.campaignId());
+            provisionedUrls.put(request.campaignId(), request.originalUrl());
+        } catch (Exception e) {
+            log.error("Failed to provision short link for campaign {}: {}", request.campaignId(), e.getMessage());
+        } finally {
+            queued.remove(request);
+        }
+    }
+}
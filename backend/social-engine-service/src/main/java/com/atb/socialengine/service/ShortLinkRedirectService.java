@@ -0,0 +1,187 @@
+package com.atb.socialengine.service;
+
+import com.atb.socialengine.entity.ShortLinkLog;
+import com.atb.socialengine.repository.ShortLinkLogRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * ShortLinkRedirectService - Resolves self-hosted short codes and counts clicks
+ *
+ * - Codes of INTERNAL links are resolved from an in-memory table (loaded at startup,
+ *   filled on miss), so a redirect does not touch the database
+ * - Malformed codes are rejected without a lookup, and unknown ones are remembered
+ *   briefly, so scanners and bogus codes do not reach the database on every request
+ * - Clicks go into per-link LongAdders and are flushed to short_link_log
+ *   in one batched UPDATE per interval
+ */
+@Service
+@Slf4j
+public class ShortLinkRedirectService {
+
+    public static final String PROVIDER = "INTERNAL";
+
+    // Codes are base62 sequence values starting at 62^3 (see SchemaInitializer), so 4-11 characters
+    private static final Pattern CODE = Pattern.compile("[0-9a-zA-Z]{4,11}");
+
+    private final ShortLinkLogRepository shortLinkLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String baseUrl;
+
+    private final ConcurrentMap<String, Target> targets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, LongAdder> clicks = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> unknownCodes;
+
+    private record Target(Long id, URI location) {}
+
+    public ShortLinkRedirectService(ShortLinkLogRepository shortLinkLogRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    @Value("${shortlink.base-url:http://localhost:8083/s/}") String baseUrl,
+                                    @Value("${shortlink.unknown-codes.max-size:10000}") long unknownCodesMaxSize,
+                                    @Value("${shortlink.unknown-codes.ttl-seconds:30}") long unknownCodesTtlSeconds) {
+        this.shortLinkLogRepository = shortLinkLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        // A link created by another instance stays unresolvable here for at most the TTL
+        this.unknownCodes = Caffeine.newBuilder()
+                .maximumSize(unknownCodesMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(unknownCodesTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Absolute http(s) URI for a redirect target, or null if the URL cannot be redirected to
+     */
+    public static URI toRedirectUri(String url) {
+        try {
+            URI uri = new URI(url);
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || !("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))) {
+                return null;
+            }
+            return uri;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Public URL for a short code
+     */
+    public String toShortUrl(String code) {
+        return baseUrl + code;
+    }
+
+    /**
+     * Make a newly created link resolvable without a database round-trip
+     */
+    public void register(ShortLinkLog link) {
+        Target target = toTarget(link);
+        if (target != null) {
+            String code = codeOf(link.getShortUrl());
+            targets.put(code, target);
+            unknownCodes.invalidate(code);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLinks() {
+        for (ShortLinkLog link : shortLinkLogRepository.findByLinkProvider(PROVIDER)) {
+            register(link);
+        }
+        log.info("Loaded {} self-hosted short links", targets.size());
+    }
+
+    /**
+     * Resolve a short code and count the click
+     *
+     * @return the redirect target, or null for an unknown code or an unusable stored URL
+     */
+    public URI resolve(String code) {
+        Target target = targets.get(code);
+        if (target == null) {
+            if (!CODE.matcher(code).matches() || unknownCodes.getIfPresent(code) != null) {
+                return null;
+            }
+            // Link created by another instance since startup
+            target = shortLinkLogRepository.findByShortUrl(toShortUrl(code))
+                    .filter(link -> PROVIDER.equals(link.getLinkProvider()))
+                    .map(this::toTarget)
+                    .orElse(null);
+            if (target == null) {
+                unknownCodes.put(code, Boolean.TRUE);
+                return null;
+            }
+            targets.put(code, target);
+        }
+
+        clicks.computeIfAbsent(target.id(), id -> new LongAdder()).increment();
+        return target.location();
+    }
+
+    /**
+     * Write accumulated clicks to short_link_log
+     */
+    @Scheduled(fixedDelayString = "${shortlink.click-flush-interval-ms:5000}")
+    public void flushClicks() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : clicks.entrySet()) {
+            // Subtract exactly what was read so clicks recorded meanwhile are kept for the next flush
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                entry.getValue().add(-count);
+                batch.add(new Object[]{count, entry.getKey()});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE short_link_log SET click_count = COALESCE(click_count, 0) + ? WHERE id = ?", batch);
+            log.debug("Flushed clicks for {} short links", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to flush short link clicks, retrying next interval: {}", e.getMessage());
+            for (Object[] row : batch) {
+                clicks.computeIfAbsent((Long) row[1], id -> new LongAdder()).add((Long) row[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushClicks();
+    }
+
+    private Target toTarget(ShortLinkLog link) {
+        URI location = toRedirectUri(link.getOriginalUrl());
+        if (location == null) {
+            log.warn("Short link {} has an invalid target URL, not serving it", link.getShortUrl());
+            return null;
+        }
+        return new Target(link.getId(), location);
+    }
+
+    private String codeOf(String shortUrl) {
+        return shortUrl.substring(shortUrl.lastIndexOf('/') + 1);
+    }
+}
@@ -7,21 +7,30 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import java.security.SecureRandom;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * ShortLinkService - Generates unique short URLs for product links
  * 
- * Uses Bitly API with fallback to random hash generation
+ * Uses Bitly API with fallback to random hash generation, or self-hosted base62 codes
+ * (shortlink.provider=INTERNAL) served by {@link ShortLinkRedirectService}.
+ * Links are cached in memory per (original URL, campaign); concurrent misses for the
+ * same key share a single lookup/Bitly call (single-flight).
  */
 @Service
 @Slf4j
@@ -29,6 +38,7 @@ import java.util.Optional;
 public class ShortLinkService {
     
     private final ShortLinkLogRepository shortLinkLogRepository;
+    private final ShortLinkRedirectService shortLinkRedirectService;
     private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
     
@@ -38,9 +48,17 @@ public class ShortLinkService {
     @Value("${bitly.api.url:https://api-ssl.bitly.com/v4/shorten}")
     private String bitlyApiUrl;
     
+    @Value("${shortlink.provider:BITLY}")
+    private String linkProvider;
+    
     private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
     private static final SecureRandom RANDOM = new SecureRandom();
     
+    // One entry per (original URL, campaign); the future is shared by concurrent callers
+    private final ConcurrentMap<LinkKey, CompletableFuture<String>> links = new ConcurrentHashMap<>();
+    
+    private record LinkKey(String originalUrl, Long campaignId) {}
+    
     /**
      * Generate a short link for a product URL
      * 
@@ -49,54 +67,122 @@ public class ShortLinkService {
      * @param campaignId The campaign ID
      * @return The short URL
      */
-    @SuppressWarnings("null")
     public String generateShortLink(String originalUrl, Long productId, Long campaignId) {
+        LinkKey key = new LinkKey(originalUrl, campaignId);
+        
+        CompletableFuture<String> link = links.get(key);
+        if (link == null) {
+            CompletableFuture<String> loading = new CompletableFuture<>();
+            link = links.putIfAbsent(key, loading);
+            if (link == null) {
+                // This caller won the race and performs the lookup; others wait on the same future
+                link = loading;
+                load(key, productId, loading);
+            }
+        }
+        
         try {
-            // Check if we already have a short link for this URL and campaign
-            Optional<ShortLinkLog> existing = shortLinkLogRepository
-                    .findFirstByOriginalUrlAndCampaignId(originalUrl, campaignId);
-            
-            if (existing.isPresent()) {
-                log.info("Reusing existing short link: {}", existing.get().getShortUrl());
-                return existing.get().getShortUrl();
+            return link.join();
+        } catch (CompletionException e) {
+            log.error("Error generating short link, returning original URL", e.getCause());
+            return originalUrl;
+        }
+    }
+    
+    /**
+     * Already-resolved link for (url, campaign), or null. Never blocks or calls out.
+     */
+    public String getCachedShortLink(String originalUrl, Long campaignId) {
+        CompletableFuture<String> link = links.get(new LinkKey(originalUrl, campaignId));
+        return link != null && link.isDone() && !link.isCompletedExceptionally() ? link.join() : null;
+    }
+    
+    /**
+     * Forget the cached link; the stored link is reused on the next lookup
+     */
+    public void evict(String originalUrl, Long campaignId) {
+        links.remove(new LinkKey(originalUrl, campaignId));
+    }
+    
+    /**
+     * Retire the current link so the next lookup creates a new one. The retired link keeps
+     * redirecting (it may already be posted in replies) and keeps its click count.
+     */
+    @Transactional
+    public void retire(String originalUrl, Long campaignId) {
+        evict(originalUrl, campaignId);
+        shortLinkLogRepository.findFirstByOriginalUrlAndCampaignIdAndRetiredAtIsNull(originalUrl, campaignId)
+                .ifPresent(link -> link.setRetiredAt(LocalDateTime.now()));
+    }
+    
+    private void load(LinkKey key, Long productId, CompletableFuture<String> loading) {
+        try {
+            String shortUrl = shortLinkLogRepository
+                    .findFirstByOriginalUrlAndCampaignIdAndRetiredAtIsNull(key.originalUrl(), key.campaignId())
+                    .map(existing -> {
+                        log.info("Reusing existing short link: {}", existing.getShortUrl());
+                        return existing.getShortUrl();
+                    })
+                    .orElseGet(() -> createShortLink(key, productId));
+            loading.complete(shortUrl);
+        } catch (Exception e) {
+            // Don't cache failures; the next caller retries
+            links.remove(key, loading);
+            loading.completeExceptionally(e);
+        }
+    }
+    
+    @SuppressWarnings("null")
+    private String createShortLink(LinkKey key, Long productId) {
+        String originalUrl = key.originalUrl();
+        
+        // Try Bitly first if token is available
+        String shortUrl;
+        String provider;
+        
+        if (ShortLinkRedirectService.PROVIDER.equalsIgnoreCase(linkProvider)) {
+            if (ShortLinkRedirectService.toRedirectUri(originalUrl) == null) {
+                throw new IllegalArgumentException("Not a redirectable URL: " + originalUrl);
             }
-            
-            // Try Bitly first if token is available
-            String shortUrl;
-            String provider;
-            
-            if (bitlyToken != null && !bitlyToken.isEmpty()) {
-                try {
-                    shortUrl = createBitlyLink(originalUrl);
-                    provider = "BITLY";
-                    log.info("Generated Bitly short link: {}", shortUrl);
-                } catch (Exception e) {
-                    log.warn("Bitly API failed, using fallback: {}", e.getMessage());
-                    shortUrl = createFallbackLink(originalUrl);
-                    provider = "FALLBACK";
-                }
-            } else {
-                log.info("No Bitly token configured, using fallback method");
+            shortUrl = shortLinkRedirectService.toShortUrl(toBase62(shortLinkLogRepository.nextShortCode()));
+            provider = ShortLinkRedirectService.PROVIDER;
+            log.info("Generated self-hosted short link: {}", shortUrl);
+        } else if (bitlyToken != null && !bitlyToken.isEmpty()) {
+            try {
+                shortUrl = createBitlyLink(originalUrl);
+                provider = "BITLY";
+                log.info("Generated Bitly short link: {}", shortUrl);
+            } catch (Exception e) {
+                log.warn("Bitly API failed, using fallback: {}", e.getMessage());
                 shortUrl = createFallbackLink(originalUrl);
                 provider = "FALLBACK";
             }
-            
-            // Save to database
-            ShortLinkLog logEntry = ShortLinkLog.builder()
-                    .originalUrl(originalUrl)
-                    .shortUrl(shortUrl)
-                    .productId(productId)
-                    .campaignId(campaignId)
-                    .linkProvider(provider)
-                    .build();
-            
-            shortLinkLogRepository.save(logEntry);
-            
+        } else {
+            log.info("No Bitly token configured, using fallback method");
+            shortUrl = createFallbackLink(originalUrl);
+            provider = "FALLBACK";
+        }
+        
+        // Save to database
+        ShortLinkLog logEntry = ShortLinkLog.builder()
+                .originalUrl(originalUrl)
+                .shortUrl(shortUrl)
+                .productId(productId)
+                .campaignId(key.campaignId())
+                .linkProvider(provider)
+                .build();
+        
+        try {
+            ShortLinkLog saved = shortLinkLogRepository.save(logEntry);
+            if (ShortLinkRedirectService.PROVIDER.equals(provider)) {
+                shortLinkRedirectService.register(saved);
+            }
             return shortUrl;
-            
-        } catch (Exception e) {
-            log.error("Error generating short link, returning original URL", e);
-            return originalUrl;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored a link for the same (url, campaign) first; use theirs
+            return shortLinkLogRepository.findFirstByOriginalUrlAndCampaignIdAndRetiredAtIsNull(originalUrl, key.campaignId())
+                    .map(ShortLinkLog::getShortUrl)
+                    .orElseThrow(() -> e);
         }
     }
     
@@ -132,6 +218,18 @@ public class ShortLinkService {
         return originalUrl + separator + "ref=" + randomHash;
     }
     
+    /**
+     * Encode a sequence value with the 62 alphanumeric characters
+     */
+    private String toBase62(long value) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append(CHARACTERS.charAt((int) (value % CHARACTERS.length())));
+            value /= CHARACTERS.length();
+        } while (value > 0);
+        return sb.reverse().toString();
+    }
+    
     /**
      * Generate a random alphanumeric hash
      */
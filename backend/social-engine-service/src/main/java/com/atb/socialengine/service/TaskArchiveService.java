@@ -0,0 +1,308 @@
+package com.atb.socialengine.service;
+
+import com.atb.socialengine.entity.Task;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * TaskArchiveService - Cold storage for tasks that left the hot table
+ *
+ * Each archived month is a directory holding one gzip-compressed JSON array per column
+ * plus a manifest. Lookups only decompress the columns they filter on, then the
+ * remaining columns for the matching rows.
+ */
+@Service
+@Slf4j
+public class TaskArchiveService {
+
+    private static final String[] COLUMNS = {
+            "id", "tweet_id", "campaign_id", "reply_text", "mode", "status", "tweet_author", "tweet_text",
+            "tweet_url", "confidence_score", "short_link", "is_risky", "risk_reason", "created_at", "updated_at"
+    };
+    private static final String MANIFEST = "manifest.json";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+    private final Path archiveDir;
+
+    public TaskArchiveService(JdbcTemplate jdbcTemplate,
+                              @Value("${tasks.archive.dir:./data/task-archive}") String archiveDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveDir = Paths.get(archiveDir);
+    }
+
+    /**
+     * Export a partition to the archive
+     *
+     * @return number of rows written
+     */
+    @Transactional // not read-only: the detached partition must be read from the primary
+    public long archivePartition(String partition, YearMonth month) throws IOException {
+        Files.createDirectories(archiveDir);
+        Path target = monthDir(month);
+        Path staging = archiveDir.resolve("." + target.getFileName() + ".tmp");
+        deleteRecursively(staging);
+        Files.createDirectories(staging);
+
+        Map<String, JsonGenerator> writers = new LinkedHashMap<>();
+        long[] rows = {0};
+
+        try {
+            for (String column : COLUMNS) {
+                OutputStream out = new GZIPOutputStream(Files.newOutputStream(staging.resolve(column + ".json.gz")));
+                JsonGenerator generator = jsonFactory.createGenerator(out);
+                generator.writeStartArray();
+                writers.put(column, generator);
+            }
+
+            // Server-side cursor: needs a transaction and a fetch size
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "SELECT " + String.join(", ", COLUMNS) + " FROM " + partition + " ORDER BY id");
+                ps.setFetchSize(FETCH_SIZE);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    for (String column : COLUMNS) {
+                        writeValue(writers.get(column), rs.getObject(column));
+                    }
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            for (JsonGenerator generator : writers.values()) {
+                generator.writeEndArray();
+            }
+        } finally {
+            for (JsonGenerator generator : writers.values()) {
+                generator.close();
+            }
+        }
+
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("table", "tasks");
+        manifest.put("month", month.toString());
+        manifest.put("rowCount", rows[0]);
+        manifest.put("columns", COLUMNS);
+        manifest.put("archivedAt", LocalDateTime.now().toString());
+        objectMapper.writeValue(staging.resolve(MANIFEST).toFile(), manifest);
+
+        deleteRecursively(target);
+        Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+
+        log.info("Archived {} rows of {} to {}", rows[0], partition, target);
+        return rows[0];
+    }
+
+    /**
+     * List archived months, newest first
+     */
+    public List<YearMonth> getArchivedMonths() {
+        if (!Files.isDirectory(archiveDir)) {
+            return List.of();
+        }
+        try (Stream<Path> dirs = Files.list(archiveDir)) {
+            return dirs.filter(dir -> Files.exists(dir.resolve(MANIFEST)))
+                    .map(dir -> dir.getFileName().toString())
+                    .filter(name -> name.startsWith("tasks-"))
+                    .map(name -> YearMonth.parse(name.substring("tasks-".length())))
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Look up archived tasks. Without a month, months are searched newest first until limit is reached.
+     */
+    public List<Task> findArchivedTasks(YearMonth month, Long campaignId, String status, String tweetId, int limit) {
+        List<YearMonth> months = month != null ? List.of(month) : getArchivedMonths();
+        List<Task> result = new ArrayList<>();
+
+        for (YearMonth candidate : months) {
+            if (result.size() >= limit) {
+                break;
+            }
+            Path dir = monthDir(candidate);
+            if (!Files.exists(dir.resolve(MANIFEST))) {
+                continue;
+            }
+            try {
+                result.addAll(scan(dir, campaignId, status, tweetId, limit - result.size()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return result;
+    }
+
+    private List<Task> scan(Path dir, Long campaignId, String status, String tweetId, int limit) throws IOException {
+        BitSet matches = null;
+        if (campaignId != null) {
+            matches = filter(dir, "campaign_id", value -> value != null && campaignId.equals(((Number) value).longValue()), matches);
+        }
+        if (status != null) {
+            matches = filter(dir, "status", status::equals, matches);
+        }
+        if (tweetId != null) {
+            matches = filter(dir, "tweet_id", tweetId::equals, matches);
+        }
+        if (matches == null) {
+            matches = new BitSet();
+            matches.set(0, rowCount(dir));
+        }
+
+        // Keep only the first `limit` matching rows before touching the wide columns
+        BitSet selected = new BitSet();
+        for (int i = matches.nextSetBit(0), n = 0; i >= 0 && n < limit; i = matches.nextSetBit(i + 1), n++) {
+            selected.set(i);
+        }
+        if (selected.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Map<String, Object>> rows = new TreeMap<>();
+        for (String column : COLUMNS) {
+            readColumn(dir, column, (index, value) -> {
+                if (selected.get(index)) {
+                    rows.computeIfAbsent(index, k -> new HashMap<>()).put(column, value);
+                }
+            });
+        }
+
+        return rows.values().stream().map(this::toTask).toList();
+    }
+
+    private BitSet filter(Path dir, String column, Predicate<Object> predicate, BitSet previous) throws IOException {
+        BitSet matches = new BitSet();
+        readColumn(dir, column, (index, value) -> {
+            if ((previous == null || previous.get(index)) && predicate.test(value)) {
+                matches.set(index);
+            }
+        });
+        return matches;
+    }
+
+    private void readColumn(Path dir, String column, ColumnVisitor visitor) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(dir.resolve(column + ".json.gz")));
+             JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Corrupt archive column " + column + " in " + dir);
+            }
+            int index = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                Object value = switch (token) {
+                    case VALUE_NULL -> null;
+                    case VALUE_NUMBER_INT -> parser.getLongValue();
+                    case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+                    case VALUE_TRUE, VALUE_FALSE -> parser.getBooleanValue();
+                    default -> parser.getText();
+                };
+                visitor.visit(index++, value);
+            }
+        }
+    }
+
+    private int rowCount(Path dir) throws IOException {
+        return objectMapper.readTree(dir.resolve(MANIFEST).toFile()).get("rowCount").asInt();
+    }
+
+    private Task toTask(Map<String, Object> row) {
+        return Task.builder()
+                .id(asLong(row.get("id")))
+                .tweetId((String) row.get("tweet_id"))
+                .campaignId(asLong(row.get("campaign_id")))
+                .replyText((String) row.get("reply_text"))
+                .mode((String) row.get("mode"))
+                .status((String) row.get("status"))
+                .tweetAuthor((String) row.get("tweet_author"))
+                .tweetText((String) row.get("tweet_text"))
+                .tweetUrl((String) row.get("tweet_url"))
+                .confidenceScore(row.get("confidence_score") != null ? ((Number) row.get("confidence_score")).doubleValue() : null)
+                .shortLink((String) row.get("short_link"))
+                .isRisky((Boolean) row.get("is_risky"))
+                .riskReason((String) row.get("risk_reason"))
+                .createdAt(asDateTime(row.get("created_at")))
+                .updatedAt(asDateTime(row.get("updated_at")))
+                .build();
+    }
+
+    private void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Timestamp timestamp) {
+            generator.writeString(timestamp.toLocalDateTime().toString());
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value instanceof Number number) {
+            if (value instanceof Double || value instanceof Float) {
+                generator.writeNumber(number.doubleValue());
+            } else {
+                generator.writeNumber(number.longValue());
+            }
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+
+    private Long asLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private LocalDateTime asDateTime(Object value) {
+        return value != null ? LocalDateTime.parse((String) value) : null;
+    }
+
+    private Path monthDir(YearMonth month) {
+        return archiveDir.resolve("tasks-" + month);
+    }
+
+    private void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            for (Path p : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ColumnVisitor {
+        void visit(int index, Object value);
+    }
+}
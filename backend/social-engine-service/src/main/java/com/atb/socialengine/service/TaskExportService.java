@@ -0,0 +1,136 @@
+package com.atb.socialengine.service;
+
+import com.atb.socialengine.entity.Task;
+import com.atb.socialengine.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * TaskExportService - Streams tasks as NDJSON or CSV for bulk analysis
+ *
+ * Rows are read through a server-side cursor (fixed fetch size) inside a read-only
+ * transaction and detached right after they are written, so heap use does not grow
+ * with the size of the export.
+ */
+@Service
+@Slf4j
+public class TaskExportService {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private static final String[] CSV_HEADER = {
+            "id", "tweetId", "campaignId", "status", "mode", "tweetAuthor", "tweetText", "tweetUrl",
+            "replyText", "confidenceScore", "shortLink", "isRisky", "riskReason", "createdAt", "updatedAt"
+    };
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskExportService(TaskRepository taskRepository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Write all tasks matching the filters to the output stream
+     *
+     * @return number of exported tasks
+     */
+    public long export(Format format, String status, Long campaignId,
+                       LocalDateTime from, LocalDateTime to, OutputStream out) {
+        Long count = readOnlyTransaction.execute(tx -> {
+            try (Stream<Task> tasks = taskRepository.streamForExport(status, campaignId, from, to)) {
+                return format == Format.CSV ? writeCsv(tasks, out) : writeNdjson(tasks, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        log.info("Exported {} tasks as {} (status: {}, campaignId: {}, from: {}, to: {})",
+                count, format, status, campaignId, from, to);
+        return count != null ? count : 0;
+    }
+
+    private long writeNdjson(Stream<Task> tasks, OutputStream out) throws IOException {
+        long count = 0;
+        // Let the servlet buffer decide when to flush instead of flushing per row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+
+        for (Task task : (Iterable<Task>) tasks::iterator) {
+            writer.writeValue(generator, task);
+            generator.writeRaw('\n');
+            entityManager.detach(task);
+            count++;
+        }
+
+        generator.flush();
+        return count;
+    }
+
+    private long writeCsv(Stream<Task> tasks, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writeCsvRow(writer, (Object[]) CSV_HEADER);
+
+        for (Task task : (Iterable<Task>) tasks::iterator) {
+            writeCsvRow(writer,
+                    task.getId(), task.getTweetId(), task.getCampaignId(), task.getStatus(), task.getMode(),
+                    task.getTweetAuthor(), task.getTweetText(), task.getTweetUrl(), task.getReplyText(),
+                    task.getConfidenceScore(), task.getShortLink(), task.getIsRisky(), task.getRiskReason(),
+                    task.getCreatedAt(), task.getUpdatedAt());
+            entityManager.detach(task);
+            count++;
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,194 @@
+package com.atb.socialengine.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * TaskPartitionService - Keeps the tasks table monthly partitioned on created_at
+ *
+ * Responsibilities:
+ * - One-time conversion of a plain tasks table into a partitioned one
+ * - Pre-creating partitions for upcoming months
+ * - Archiving partitions older than the retention window and dropping them
+ *   (DETACH + DROP instead of row-by-row DELETE)
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TaskPartitionService {
+
+    private static final String TABLE = "tasks";
+    private static final String DEFAULT_PARTITION = "tasks_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile("tasks_p(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskArchiveService taskArchiveService;
+
+    @Value("${tasks.partitioning.precreate-months:2}")
+    private int precreateMonths;
+
+    @Value("${tasks.partitioning.retention-months:3}")
+    private int retentionMonths;
+
+    /**
+     * Convert the Hibernate-created tasks table into a partitioned table.
+     * No-op when the table is already partitioned.
+     */
+    @Transactional
+    public void migrateToPartitionedTable() {
+        String relkind = jdbcTemplate.queryForObject(
+                "SELECT COALESCE((SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)), '')",
+                String.class, TABLE);
+
+        if (!"r".equals(relkind)) {
+            return;
+        }
+
+        log.info("Converting table {} to monthly partitions on created_at", TABLE);
+
+        jdbcTemplate.execute("LOCK TABLE tasks IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("ALTER TABLE tasks RENAME TO tasks_unpartitioned");
+        jdbcTemplate.execute("CREATE TABLE tasks (LIKE tasks_unpartitioned INCLUDING DEFAULTS INCLUDING IDENTITY) " +
+                "PARTITION BY RANGE (created_at)");
+        // Partition key must be part of the primary key
+        jdbcTemplate.execute("ALTER TABLE tasks ADD PRIMARY KEY (id, created_at)");
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF tasks DEFAULT");
+
+        LocalDate oldest = jdbcTemplate.queryForObject(
+                "SELECT CAST(MIN(created_at) AS date) FROM tasks_unpartitioned", LocalDate.class);
+        YearMonth first = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        for (YearMonth month = first; !month.isAfter(YearMonth.now().plusMonths(precreateMonths)); month = month.plusMonths(1)) {
+            createPartition(month);
+        }
+
+        int copied = jdbcTemplate.update("INSERT INTO tasks SELECT * FROM tasks_unpartitioned");
+
+        // A serial default still points at the old table's sequence; move ownership before dropping it
+        String sequence = jdbcTemplate.queryForObject("SELECT pg_get_serial_sequence('tasks', 'id')", String.class);
+        if (sequence == null) {
+            sequence = jdbcTemplate.queryForObject(
+                    "SELECT pg_get_serial_sequence('tasks_unpartitioned', 'id')", String.class);
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " OWNED BY tasks.id");
+        }
+        jdbcTemplate.queryForObject(
+                "SELECT setval(?::regclass, COALESCE(MAX(id), 0) + 1, false) FROM tasks", Long.class, sequence);
+
+        jdbcTemplate.execute("DROP TABLE tasks_unpartitioned");
+
+        log.info("Table {} is now partitioned ({} rows moved)", TABLE, copied);
+    }
+
+    /**
+     * Make sure partitions exist for the current month and the next few months
+     */
+    @Scheduled(cron = "${tasks.partitioning.maintenance-cron:0 0 1 * * *}")
+    @Transactional
+    public void ensureUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= precreateMonths; i++) {
+            createPartition(current.plusMonths(i));
+        }
+    }
+
+    /**
+     * Archive and drop partitions that fell out of the retention window
+     */
+    @Scheduled(cron = "${tasks.partitioning.retention-cron:0 30 1 * * *}")
+    public void archiveExpiredPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+
+        for (String partition : listPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+
+            // Detach first so no late status update can land in rows that are being archived
+            jdbcTemplate.execute("ALTER TABLE tasks DETACH PARTITION " + partition);
+
+            try {
+                long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+                long written = taskArchiveService.archivePartition(partition, month);
+
+                if (written != expected) {
+                    throw new IllegalStateException(String.format(
+                            "archive wrote %d rows but partition holds %d", written, expected));
+                }
+
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Archived and dropped partition {} ({} rows)", partition, written);
+
+            } catch (Exception e) {
+                log.error("Failed to archive partition {}, re-attaching: {}", partition, e.getMessage(), e);
+                jdbcTemplate.execute(String.format(
+                        "ALTER TABLE tasks ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+                        partition, month.atDay(1), month.plusMonths(1).atDay(1)));
+            }
+        }
+    }
+
+    /**
+     * Create the month's partition unless it exists. Rows for that month may already sit in the
+     * default partition (e.g. after a missed run), which makes CREATE ... PARTITION OF fail, so the
+     * partition is built detached, those rows are moved into it, and only then is it attached.
+     */
+    private void createPartition(YearMonth month) {
+        String name = "tasks_p" + month.format(SUFFIX);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        // Keep new rows for this month out of the default partition until the attach is done
+        jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN SHARE ROW EXCLUSIVE MODE");
+        // Generated columns (search_vector) must be generated in the partition as well
+        jdbcTemplate.execute("CREATE TABLE " + name +
+                " (LIKE tasks INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)");
+        // Named columns: generated ones are recomputed on insert, and positions may differ from the parent
+        String columns = String.join(", ", jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = 'tasks' AND is_generated = 'NEVER' " +
+                "ORDER BY ordinal_position",
+                String.class));
+        int moved = jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE created_at >= ? AND created_at < ? " +
+                "RETURNING *) INSERT INTO " + name + " (" + columns + ") SELECT " + columns + " FROM moved",
+                from, to);
+        jdbcTemplate.execute(String.format(
+                "ALTER TABLE tasks ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+                name, month.atDay(1), month.plusMonths(1).atDay(1)));
+
+        if (moved > 0) {
+            log.warn("Moved {} rows from {} into new partition {}", moved, DEFAULT_PARTITION, name);
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'tasks'::regclass ORDER BY c.relname",
+                String.class);
+    }
+}
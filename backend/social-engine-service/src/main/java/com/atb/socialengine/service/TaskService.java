@@ -5,6 +5,8 @@ import com.atb.socialengine.model.ReplySuggestion;
 import com.atb.socialengine.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -58,6 +60,7 @@ public class TaskService {
     /**
      * Get all tasks
      */
+    @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
         return taskRepository.findAll();
     }
@@ -65,6 +68,7 @@ public class TaskService {
     /**
      * Get task by ID
      */
+    @Transactional(readOnly = true)
     @SuppressWarnings("null")
     public java.util.Optional<Task> getTaskById(Long id) {
         return taskRepository.findById(id);
@@ -73,6 +77,7 @@ public class TaskService {
     /**
      * Get all pending tasks
      */
+    @Transactional(readOnly = true)
     public List<Task> getPendingTasks() {
         return taskRepository.findByStatus("PENDING");
     }
@@ -80,6 +85,7 @@ public class TaskService {
     /**
      * Get tasks by status
      */
+    @Transactional(readOnly = true)
     public List<Task> getTasksByStatus(String status) {
         return taskRepository.findByStatus(status);
     }
@@ -87,10 +93,19 @@ public class TaskService {
     /**
      * Get tasks by campaign
      */
+    @Transactional(readOnly = true)
     public List<Task> getTasksByCampaign(Long campaignId) {
         return taskRepository.findByCampaignId(campaignId);
     }
     
+    /**
+     * Full-text search over tweet and reply text, optionally narrowed by status and campaign
+     */
+    @Transactional(readOnly = true)
+    public Page<Task> searchTasks(String query, String status, Long campaignId, int page, int size) {
+        return taskRepository.searchByText(query, status, campaignId, PageRequest.of(page, size));
+    }
+    
     /**
      * Update task status
      */
@@ -123,6 +138,7 @@ public class TaskService {
     /**
      * Get task statistics
      */
+    @Transactional(readOnly = true)
     public java.util.Map<String, Object> getTaskStatistics() {
         List<Task> allTasks = taskRepository.findAll();
         
@@ -146,6 +162,7 @@ public class TaskService {
     /**
      * Get campaign statistics for last 24 hours
      */
+    @Transactional(readOnly = true)
     public java.util.Map<String, Object> getCampaignStatistics(Long campaignId) {
         java.time.LocalDateTime twentyFourHoursAgo = java.time.LocalDateTime.now().minusHours(24);
         
@@ -1,6 +1,6 @@
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { apiProducts } from '@/lib/api-client';
-import { Product, CreateProductDto, UpdateProductDto, PresignedUrlResponse } from '@/types/product';
+import { Product, CreateProductDto, UpdateProductDto, PresignedUrlResponse, BatchPresignedUrlResponse } from '@/types/product';
 
 // Fetch all products
 export const useProducts = () => {
@@ -25,13 +25,15 @@ export const useProduct = (id: number) => {
   });
 };
 
-// Search products
-export const useSearchProducts = (keyword: string) => {
+// Search products (ranked, paginated; returns the requested page's products)
+export const useSearchProducts = (keyword: string, page = 0, size = 20) => {
   return useQuery<Product[]>({
-    queryKey: ['products', 'search', keyword],
+    queryKey: ['products', 'search', keyword, page, size],
     queryFn: async () => {
-      const { data } = await apiProducts.get<Product[]>(`/products/search?keyword=${encodeURIComponent(keyword)}`);
-      return data;
+      const { data } = await apiProducts.get<{ content: Product[] }>(
+        `/products/search?keyword=${encodeURIComponent(keyword)}&page=${page}&size=${size}`
+      );
+      return data.content;
     },
     enabled: keyword.length >= 2,
   });
@@ -95,3 +97,15 @@ export const usePresignedUrl = () => {
   });
 };
 
+// Get presigned URLs for several images in one request (max 50)
+export const usePresignedUrls = () => {
+  return useMutation({
+    mutationFn: async (files: { fileName: string; contentType?: string }[]) => {
+      const { data } = await apiProducts.post<BatchPresignedUrlResponse[]>(
+        '/products/upload-urls',
+        files.map(({ fileName, contentType }) => ({ fileName, contentType: contentType || 'image/jpeg' }))
+      );
+      return data;
+    },
+  });
+};
@@ -9,6 +9,7 @@ export interface Product {
   tags?: string[];
   createdAt: string;
   updatedAt?: string;
+  imageVariants?: Record<string, string>; // e.g. "w320-jpeg" -> resized copy of imageUrl
 }
 
 export interface CreateProductDto {
@@ -27,6 +28,11 @@ export interface PresignedUrlResponse {
   presignedUrl: string;
 }
 
+export interface BatchPresignedUrlResponse {
+  fileName: string;
+  presignedUrl: string;
+}
+
 // Lite version for pickers/dropdowns
 export interface ProductLite {
   id: number;